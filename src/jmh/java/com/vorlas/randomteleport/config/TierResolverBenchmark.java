@@ -0,0 +1,44 @@
+package com.vorlas.randomteleport.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Uncached tier resolution over the default tier table, for a player with no
+ * tier, the first tier checked and the last one.
+ */
+@State(Scope.Thread)
+public class TierResolverBenchmark {
+
+    @Param({"none", "diamond", "bronze"})
+    public String tier;
+
+    private TierResolver resolver;
+    private Predicate<String> permissions;
+
+    @Setup
+    public void setup() throws IOException {
+        Path directory = Files.createTempDirectory("rtp-bench");
+        RandomTeleportConfig config = new RandomTeleportConfig(directory);
+        resolver = new TierResolver(config);
+
+        Set<String> granted = "none".equals(tier)
+                ? Set.of("randomteleport.use")
+                : Set.of("randomteleport.use", "randomteleport.tier." + tier);
+        permissions = granted::contains;
+    }
+
+    @Benchmark
+    public ResolvedTier resolve() {
+        return resolver.resolvePermissions(permissions);
+    }
+}
@@ -0,0 +1,68 @@
+package com.vorlas.randomteleport.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Column scanning on a 3x3 grid of synthetic chunks, with the default
+ * 120..260 height band. Each invocation moves to the next of a fixed set of
+ * columns in the centre chunk.
+ */
+@State(Scope.Thread)
+public class ColumnScannerBenchmark {
+
+    private static final int MIN_HEIGHT = 120;
+    private static final int MAX_HEIGHT = 260;
+    private static final int COLUMNS = 64;
+
+    @Param({"FLAT", "OCEAN", "MOUNTAINS", "CAVES"})
+    public SyntheticTerrain terrain;
+
+    private ColumnScanner scanner;
+    private final int[] xs = new int[COLUMNS];
+    private final int[] zs = new int[COLUMNS];
+    private final int[] surfaces = new int[COLUMNS];
+    private int next;
+
+    @Setup
+    public void setup() {
+        scanner = new ColumnScanner(0, 0);
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                scanner.put(LocationSearcher.chunkIndex(dx, dz), terrain.chunk(dx, dz));
+            }
+        }
+        for (int i = 0; i < COLUMNS; i++) {
+            xs[i] = (i * 7) & 15;
+            zs[i] = (i * 11 + 3) & 15;
+            surfaces[i] = Math.min(terrain.surface(xs[i], zs[i]), MAX_HEIGHT);
+        }
+    }
+
+    @Benchmark
+    public int findSafeSurfaceY() {
+        int i = advance();
+        return scanner.findSafeSurfaceY(xs[i], zs[i], MIN_HEIGHT, MAX_HEIGHT);
+    }
+
+    @Benchmark
+    public boolean hasSolidAround() {
+        int i = advance();
+        return scanner.hasSolidAround(xs[i], surfaces[i], zs[i]);
+    }
+
+    @Benchmark
+    public ColumnScanner.SafeColumn findSafeColumnNear() {
+        int i = advance();
+        return scanner.findSafeColumnNear(xs[i], zs[i], MIN_HEIGHT, MAX_HEIGHT, 32);
+    }
+
+    private int advance() {
+        int i = next;
+        next = (i + 1) & (COLUMNS - 1);
+        return i;
+    }
+}
@@ -0,0 +1,67 @@
+package com.vorlas.randomteleport.search;
+
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import com.vorlas.randomteleport.metrics.RtpMetrics;
+import com.vorlas.randomteleport.utils.RtpScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end searches with the default config against {@link ProceduralTerrain},
+ * with and without simulated chunk generation latency. A fresh seed per trial
+ * keeps later iterations from only hitting already generated chunks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    @Param({"0", "5"})
+    public long chunkLatencyMs;
+
+    private ExecutorService worldThread;
+    private RtpScheduler scheduler;
+    private ProceduralTerrain terrain;
+    private LocationSearcher searcher;
+    private SearchBounds bounds;
+
+    @Setup
+    public void setup() throws IOException {
+        Path directory = Files.createTempDirectory("rtp-bench");
+        RandomTeleportConfig config = new RandomTeleportConfig(directory);
+        worldThread = Executors.newSingleThreadExecutor(r -> new Thread(r, "bench-world"));
+        scheduler = new RtpScheduler();
+        terrain = new ProceduralTerrain("bench", System.nanoTime(), chunkLatencyMs, worldThread);
+        searcher = new LocationSearcher(config, new RtpMetrics(),
+                new UnsafeRegionCache(directory, config.getUnsafeCacheMinutes()), new GeneratedChunkIndex(directory),
+                new WorldHealth(config), scheduler);
+        bounds = new SearchBounds(config.getMinDistance(), config.getMaxDistance(),
+                config.getMinHeight(), config.getMaxHeight());
+    }
+
+    @TearDown
+    public void tearDown() {
+        worldThread.shutdownNow();
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public SafeLocation search() {
+        return searcher.search(terrain, bounds, attempt -> {
+        }).join();
+    }
+}
@@ -0,0 +1,112 @@
+package com.vorlas.randomteleport.search;
+
+/**
+ * Deterministic terrain shapes for the scanner benchmarks. Block id 1 is
+ * solid, 0 is air; fluid id 1 is water.
+ */
+public enum SyntheticTerrain {
+
+    /** Open grassland: safe ground everywhere. */
+    FLAT {
+        @Override
+        int surface(int x, int z) {
+            return 140;
+        }
+    },
+
+    /** Deep water over a seabed inside the height band: never safe. */
+    OCEAN {
+        @Override
+        int surface(int x, int z) {
+            return 125;
+        }
+
+        @Override
+        int waterLevel() {
+            return 150;
+        }
+    },
+
+    /** Steep slopes, so many columns fail the neighbour check. */
+    MOUNTAINS {
+        @Override
+        int surface(int x, int z) {
+            return 200 + (int) (35 * Math.sin(x * 0.45) + 25 * Math.cos(z * 0.6));
+        }
+    },
+
+    /** Rock above the whole band, riddled with cave pockets. */
+    CAVES {
+        @Override
+        int surface(int x, int z) {
+            return 300;
+        }
+
+        @Override
+        boolean isCave(int x, int y, int z) {
+            return y < 250 && hash(x >> 2, y >> 2, z >> 2) % 3 == 0;
+        }
+    };
+
+    static final int HEIGHT = 320;
+
+    abstract int surface(int x, int z);
+
+    int waterLevel() {
+        return -1;
+    }
+
+    boolean isCave(int x, int y, int z) {
+        return false;
+    }
+
+    ChunkView chunk(int chunkX, int chunkZ) {
+        short[] blocks = new short[16 * 16 * HEIGHT];
+        byte[] fluids = new byte[16 * 16 * HEIGHT];
+        for (int lx = 0; lx < 16; lx++) {
+            for (int lz = 0; lz < 16; lz++) {
+                int x = chunkX * 16 + lx;
+                int z = chunkZ * 16 + lz;
+                int top = surface(x, z);
+                for (int y = 0; y < HEIGHT; y++) {
+                    int i = index(lx, y, lz);
+                    if (y <= top && !isCave(x, y, z)) {
+                        blocks[i] = 1;
+                    } else if (y <= waterLevel()) {
+                        fluids[i] = 1;
+                    }
+                }
+            }
+        }
+        return new Chunk(blocks, fluids);
+    }
+
+    private static int index(int localX, int y, int localZ) {
+        return (y * 16 + localZ) * 16 + localX;
+    }
+
+    private static int hash(int x, int y, int z) {
+        int h = x * 73856093 ^ y * 19349663 ^ z * 83492791;
+        h ^= h >>> 13;
+        return (h * 0x5bd1e995) >>> 1;
+    }
+
+    private record Chunk(short[] blocks, byte[] fluids) implements ChunkView {
+
+        @Override
+        public int getBlock(int localX, int y, int localZ) {
+            if (y < 0 || y >= HEIGHT) {
+                throw new IndexOutOfBoundsException("y=" + y);
+            }
+            return blocks[index(localX, y, localZ)];
+        }
+
+        @Override
+        public int getFluidId(int localX, int y, int localZ) {
+            if (y < 0 || y >= HEIGHT) {
+                throw new IndexOutOfBoundsException("y=" + y);
+            }
+            return fluids[index(localX, y, localZ)];
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.vorlas.randomteleport.utils;
+
+import com.hypixel.hytale.server.core.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Message parsing and rendering with the default message texts, and the
+ * cooldown time formatting.
+ */
+@State(Scope.Thread)
+public class MessageBenchmark {
+
+    private static final String TELEPORTED =
+            "&5[RTP] &bTeleported to &fX: {x}, Y: {y}, Z: {z} &f({distance} blocks from spawn)";
+    private static final String STATS_LINE = "&5[RTP] &fRequests: &e120 &fsuccesses: &e117 &fpool hits: &e80";
+    private static final long[] DURATIONS = {4_000L, 59_000L, 61_000L, 754_000L, 3_600_000L, 7_384_000L};
+
+    private MessageTemplate teleported;
+    private int next;
+
+    @Setup
+    public void setup() {
+        teleported = MessageTemplate.compile(TELEPORTED, "x", "y", "z", "distance");
+    }
+
+    @Benchmark
+    public Message parseColored() {
+        return MessageUtil.parseColored(STATS_LINE);
+    }
+
+    @Benchmark
+    public MessageTemplate compileTemplate() {
+        return MessageTemplate.compile(TELEPORTED, "x", "y", "z", "distance");
+    }
+
+    @Benchmark
+    public Message renderTemplate() {
+        return teleported.render("-5312", "143", "7021", "8803");
+    }
+
+    @Benchmark
+    public String formatTime() {
+        int i = next;
+        next = (i + 1) % DURATIONS.length;
+        return MessageUtil.formatTime(DURATIONS[i]);
+    }
+}
@@ -1,11 +1,21 @@
 package com.vorlas.randomteleport;
 
+import com.hypixel.hytale.server.core.event.events.player.DrainPlayerFromWorldEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.vorlas.randomteleport.commands.RandomTeleportCommand;
+import com.vorlas.randomteleport.commands.RandomTeleportReloadCommand;
+import com.vorlas.randomteleport.config.ConfigReloader;
 import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import com.vorlas.randomteleport.config.TierResolver;
+import com.vorlas.randomteleport.metrics.RtpMetrics;
+import com.vorlas.randomteleport.utils.RtpLog;
+import com.vorlas.randomteleport.utils.RtpScheduler;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
+import java.util.UUID;
 import java.util.logging.Level;
 
 /**
@@ -20,6 +30,9 @@ import java.util.logging.Level;
 public class RandomTeleportPlugin extends JavaPlugin {
 
     private static RandomTeleportPlugin instance;
+    private RandomTeleportCommand command;
+    private RtpScheduler scheduler;
+    private ConfigReloader reloader;
 
     /**
      * Constructor - Called when plugin is loaded by the server.
@@ -38,15 +51,65 @@ public class RandomTeleportPlugin extends JavaPlugin {
     protected void setup() {
         super.setup();
 
-        // Initialize configuration
+        // Initialize logging and configuration
+        RtpLog.init(this.getLogger());
         RandomTeleportConfig config = new RandomTeleportConfig(this.getDataDirectory());
+        RtpLog.setDebug(config.isDebugMode());
+        TierResolver tierResolver = new TierResolver(config);
+        RtpMetrics metrics = new RtpMetrics();
+        this.scheduler = new RtpScheduler();
 
         // Register the /rtp command
-        this.getCommandRegistry().registerCommand(new RandomTeleportCommand(config));
+        RandomTeleportCommand command = new RandomTeleportCommand(config, tierResolver, metrics, scheduler);
+        this.command = command;
+
+        // Pick up config changes from /rtp reload or edits to config.json
+        this.reloader = new ConfigReloader(config, tierResolver, scheduler);
+        command.addSubCommand(new RandomTeleportReloadCommand(config, reloader));
+        reloader.startWatching();
+        this.getCommandRegistry().registerCommand(command);
+
+        // Forget cached tiers and abort pending teleports when players leave
+        this.getEventRegistry().register(PlayerDisconnectEvent.class, event -> {
+            UUID playerId = event.getPlayerRef().getUuid();
+            tierResolver.invalidate(playerId);
+            command.cancelPlayer(playerId);
+        });
+
+        // A player leaving a world (world change or disconnect) no longer
+        // needs the destination found there
+        this.getEventRegistry().registerGlobal(DrainPlayerFromWorldEvent.class, event -> {
+            PlayerRef playerRef = event.getHolder().getComponent(PlayerRef.getComponentType());
+            if (playerRef != null) {
+                command.cancelPlayer(playerRef.getUuid());
+            }
+        });
 
         this.getLogger().at(Level.INFO).log("RandomTeleport plugin enabled! Use /rtp to teleport randomly.");
     }
 
+    /**
+     * Called when the plugin is stopped: abort searches in flight, flush
+     * persisted state, then drain the scheduler and the debug log.
+     */
+    @Override
+    protected void shutdown() {
+        if (reloader != null) {
+            reloader.stop();
+            reloader = null;
+        }
+        if (command != null) {
+            command.cleanup();
+            command = null;
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+        RtpLog.shutdown();
+        super.shutdown();
+    }
+
     /**
      * Get plugin instance.
      */
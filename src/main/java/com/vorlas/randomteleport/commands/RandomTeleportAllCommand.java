@@ -0,0 +1,41 @@
+package com.vorlas.randomteleport.commands;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractAsyncCommand;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * /rtp all - scatters every online player except the sender.
+ */
+public class RandomTeleportAllCommand extends AbstractAsyncCommand {
+
+    private final RandomTeleportCommand rtp;
+
+    public RandomTeleportAllCommand(RandomTeleportConfig config, RandomTeleportCommand rtp) {
+        super("all", "Randomly teleport every online player");
+        this.requirePermission(config.getBulkPermission());
+        this.rtp = rtp;
+    }
+
+    @NonNullDecl
+    @Override
+    protected CompletableFuture<Void> executeAsync(CommandContext commandContext) {
+        CommandSender sender = commandContext.sender();
+        Ref<EntityStore> senderRef = sender instanceof Player player ? player.getReference() : null;
+        List<PlayerRef> players = Universe.get().getPlayers().stream()
+                .filter(playerRef -> senderRef == null || !senderRef.equals(playerRef.getReference()))
+                .toList();
+        rtp.teleportMany(sender, players);
+        return CompletableFuture.completedFuture(null);
+    }
+}
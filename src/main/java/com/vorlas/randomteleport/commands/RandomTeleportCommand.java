@@ -14,119 +14,147 @@ import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.modules.entity.teleport.Teleport;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+import com.vorlas.randomteleport.utils.CooldownJournal;
+import com.vorlas.randomteleport.utils.CooldownStore;
 import com.vorlas.randomteleport.utils.WarmupManager;
+import com.vorlas.randomteleport.utils.MessageTemplate;
 import com.vorlas.randomteleport.utils.MessageUtil;
+import com.vorlas.randomteleport.utils.RtpLog;
+import com.vorlas.randomteleport.utils.RtpScheduler;
 import com.vorlas.randomteleport.config.RandomTeleportConfig;
-
-import java.util.HashMap;
+import com.vorlas.randomteleport.config.ResolvedTier;
+import com.vorlas.randomteleport.config.TierResolver;
+import com.vorlas.randomteleport.metrics.RtpMetrics;
+import com.vorlas.randomteleport.search.ActiveSearches;
+import com.vorlas.randomteleport.search.ArrivalPrewarmer;
+import com.vorlas.randomteleport.search.BulkPlanner;
+import com.vorlas.randomteleport.search.GeneratedChunkIndex;
+import com.vorlas.randomteleport.search.LocationPool;
+import com.vorlas.randomteleport.search.LocationSearcher;
+import com.vorlas.randomteleport.search.SafeLocation;
+import com.vorlas.randomteleport.search.SearchAdmission;
+import com.vorlas.randomteleport.search.SearchBounds;
+import com.vorlas.randomteleport.search.UnsafeRegionCache;
+import com.vorlas.randomteleport.search.WorldHealth;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
 
 public class RandomTeleportCommand extends AbstractAsyncCommand {
 
-    private static final Random random = new Random();
-    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-    private final Map<UUID, Long> cooldowns = new HashMap<>();
+    private static final int ADMIN_PRIORITY = Integer.MAX_VALUE;
+    private static final long TICK_MS = 50;
+    private final CooldownStore cooldowns;
+    private final CooldownJournal cooldownJournal;
     private final WarmupManager warmupManager;
+    private final LocationSearcher searcher;
+    private final UnsafeRegionCache unsafeRegions;
+    private final GeneratedChunkIndex generatedChunks;
+    private final WorldHealth health;
+    private final SearchAdmission admission;
+    private final ActiveSearches activeSearches = new ActiveSearches();
+    private final LocationPool locationPool;
+    private final BulkPlanner bulkPlanner;
+    private final ArrivalPrewarmer prewarmer;
     private final RandomTeleportConfig config;
+    private final TierResolver tierResolver;
+    private final RtpMetrics metrics;
+    private final RtpScheduler scheduler;
     private final OptionalArg<PlayerRef> targetPlayerArg;
+    private final List<ScheduledFuture<?>> periodicTasks = new ArrayList<>();
 
-    public RandomTeleportCommand(RandomTeleportConfig config) {
+    public RandomTeleportCommand(RandomTeleportConfig config, TierResolver tierResolver, RtpMetrics metrics,
+            RtpScheduler scheduler) {
         super(config.getCommandName(), config.getCommandDescription());
         this.addAliases(config.getCommandAliases());
         this.setPermissionGroup(GameMode.Adventure);
         this.requirePermission(config.getUsePermission());
         this.targetPlayerArg = this.withOptionalArg("player", "Target player to teleport", ArgTypes.PLAYER_REF);
-        this.warmupManager = new WarmupManager(config);
+        this.warmupManager = new WarmupManager(config, scheduler);
+        this.cooldowns = new CooldownStore(config);
+        this.cooldownJournal = new CooldownJournal(config.getDataDirectory(), cooldowns, scheduler);
+        this.cooldownJournal.load();
+        this.unsafeRegions = new UnsafeRegionCache(config.getDataDirectory(), config.getUnsafeCacheMinutes());
+        this.unsafeRegions.load();
+        this.generatedChunks = new GeneratedChunkIndex(config.getDataDirectory());
+        if (config.isPreferGenerated()) {
+            this.generatedChunks.load();
+        }
+        this.health = new WorldHealth(config);
+        this.searcher = new LocationSearcher(config, metrics, unsafeRegions, generatedChunks, health, scheduler);
+        this.admission = new SearchAdmission(config, searcher, metrics, health);
+        this.locationPool = new LocationPool(config, searcher, admission, health, scheduler);
+        this.bulkPlanner = new BulkPlanner(config, searcher, admission, scheduler);
+        this.prewarmer = new ArrivalPrewarmer(config, scheduler);
         this.config = config;
-    }
-
-    public void cleanup() {
-        this.warmupManager.shutdown();
-    }
-
-    /**
-     * Get the cooldown in seconds for a player based on their permission tier.
-     * Checks from highest tier (diamond) to lowest (bronze), returns default if no
-     * tier.
-     */
-    private int getCooldownForPlayer(Player player) {
-        // Check bypass first
-        if (player.hasPermission(config.getBypassCooldownPermission(), false)) {
-            return 0;
+        this.tierResolver = tierResolver;
+        this.metrics = metrics;
+        this.scheduler = scheduler;
+        // Subcommand names win over the player argument, so a player called
+        // "stats", "all", "group" or "reload" is reached with /rtp group <name>
+        this.addSubCommand(new RandomTeleportStatsCommand(config, metrics, scheduler));
+        this.addSubCommand(new RandomTeleportAllCommand(config, this));
+        this.addSubCommand(new RandomTeleportGroupCommand(config, this));
+
+        metrics.setPendingWarmupsGauge(warmupManager::getPendingCount);
+        int dumpInterval = config.getMetricsDumpIntervalSeconds();
+        if (dumpInterval > 0) {
+            periodicTasks.add(scheduler.scheduleBlocking(() -> {
+                try {
+                    metrics.dump(config.getDataDirectory());
+                } catch (Exception e) {
+                    RtpLog.warn("Could not write metrics dump", e);
+                }
+            }, dumpInterval, dumpInterval, TimeUnit.SECONDS));
         }
-
-        // Check tiers from highest to lowest (diamond -> gold -> silver -> bronze)
-        for (Map.Entry<String, RandomTeleportConfig.TierData> entry : config.getTiers().entrySet()) {
-            if (player.hasPermission(entry.getValue().permission, false)) {
-                return entry.getValue().cooldownSeconds;
-            }
+        periodicTasks.add(scheduler.scheduleBlocking(this::saveSearchState, 5, 5, TimeUnit.MINUTES));
+        if (config.isHealthEnabled()) {
+            int probeInterval = config.getHealthProbeIntervalMs();
+            periodicTasks.add(scheduler.scheduleAtFixedRate(health::probe, probeInterval, probeInterval,
+                    TimeUnit.MILLISECONDS));
         }
-
-        // No tier found, use default
-        return config.getDefaultCooldownSeconds();
     }
 
     /**
-     * Get the warmup in seconds for a player based on their permission tier.
+     * Stop everything the command started and flush persisted state. Called
+     * from the plugin's shutdown, before the scheduler is drained.
      */
-    private int getWarmupForPlayer(Player player) {
-        // Check bypass first
-        if (player.hasPermission(config.getBypassWarmupPermission(), false)) {
-            return 0;
-        }
-
-        // Check tiers from highest to lowest
-        for (Map.Entry<String, RandomTeleportConfig.TierData> entry : config.getTiers().entrySet()) {
-            if (player.hasPermission(entry.getValue().permission, false)) {
-                return entry.getValue().warmupSeconds;
-            }
+    public void cleanup() {
+        for (ScheduledFuture<?> task : periodicTasks) {
+            task.cancel(false);
         }
-
-        // No tier found, use default
-        return config.getDefaultWarmupSeconds();
+        this.activeSearches.cancelAll();
+        this.warmupManager.shutdown();
+        this.locationPool.shutdown();
+        this.cooldownJournal.shutdown();
+        saveSearchState();
     }
 
-    /**
-     * Get the min/max distance for a player based on their permission tier.
-     * Returns int[] {minDistance, maxDistance}
-     */
-    private int[] getDistanceForPlayer(Player player) {
-        // Check tiers from highest to lowest
-        for (Map.Entry<String, RandomTeleportConfig.TierData> entry : config.getTiers().entrySet()) {
-            if (player.hasPermission(entry.getValue().permission, false)) {
-                RandomTeleportConfig.TierData tier = entry.getValue();
-                int minDist = tier.minDistance > 0 ? tier.minDistance : config.getMinDistance();
-                int maxDist = tier.maxDistance > 0 ? tier.maxDistance : config.getMaxDistance();
-                return new int[] { minDist, maxDist };
-            }
+    // Synchronized so the final save cannot overlap a periodic one
+    private synchronized void saveSearchState() {
+        unsafeRegions.save();
+        if (config.isPreferGenerated()) {
+            generatedChunks.save();
         }
-        // No tier found, use defaults
-        return new int[] { config.getMinDistance(), config.getMaxDistance() };
     }
 
     /**
-     * Get the min/max height for a player based on their permission tier.
-     * Returns int[] {minHeight, maxHeight}
+     * Abort the player's warmup and search, e.g. when they disconnect or
+     * leave the world.
      */
-    private int[] getHeightForPlayer(Player player) {
-        for (Map.Entry<String, RandomTeleportConfig.TierData> entry : config.getTiers().entrySet()) {
-            if (player.hasPermission(entry.getValue().permission, false)) {
-                RandomTeleportConfig.TierData tier = entry.getValue();
-                int minH = tier.minHeight >= 0 ? tier.minHeight : config.getMinHeight();
-                int maxH = tier.maxHeight > 0 ? tier.maxHeight : config.getMaxHeight();
-                return new int[] { minH, maxH };
-            }
-        }
-        return new int[] { config.getMinHeight(), config.getMaxHeight() };
+    public void cancelPlayer(UUID playerId) {
+        warmupManager.cancelWarmup(playerId);
+        activeSearches.cancel(playerId);
     }
 
     @NonNullDecl
@@ -139,14 +167,14 @@ public class RandomTeleportCommand extends AbstractAsyncCommand {
             // /rtp <player> — admin or console targeting another player
             if (sender instanceof Player senderPlayer
                     && !senderPlayer.hasPermission(config.getTeleportOtherPermission(), false)) {
-                senderPlayer.sendMessage(MessageUtil.parseColored(config.getMessageNoPermissionOther()));
+                config.getMessages().noPermissionOther().send(senderPlayer::sendMessage);
                 return CompletableFuture.completedFuture(null);
             }
 
             PlayerRef targetPlayerRef = targetPlayerArg.get(commandContext);
             Ref<EntityStore> targetRef = targetPlayerRef.getReference();
             if (targetRef == null || !targetRef.isValid()) {
-                sender.sendMessage(MessageUtil.parseColored(config.getMessageTargetNotFound()));
+                config.getMessages().targetNotFound().send(sender::sendMessage);
                 return CompletableFuture.completedFuture(null);
             }
 
@@ -155,7 +183,8 @@ public class RandomTeleportCommand extends AbstractAsyncCommand {
             return CompletableFuture.runAsync(() -> {
                 UUID targetUuid = targetPlayerRef.getUuid();
                 // Admin teleport skips cooldown and warmup
-                executeRandomTeleport(sender, targetPlayerRef, targetRef, store, world, targetUuid, true);
+                executeRandomTeleport(sender, targetPlayerRef, targetRef, store, world, targetUuid,
+                        tierResolver.defaults(), true);
             }, world);
 
         } else if (sender instanceof Player player) {
@@ -172,39 +201,55 @@ public class RandomTeleportCommand extends AbstractAsyncCommand {
                     UUID playerUuid = playerRef.getUuid();
                     long currentTime = System.currentTimeMillis();
 
-                    // Get tier-based cooldown for this player
-                    int cooldownSeconds = getCooldownForPlayer(player);
-                    long cooldownMs = cooldownSeconds * 1000L;
+                    // A search is already running for this player; let it finish
+                    if (activeSearches.isActive(playerUuid, world.getName())) {
+                        config.getMessages().alreadySearching().send(player::sendMessage);
+                        return;
+                    }
+
+                    // Resolve the player's tier once for the whole request
+                    ResolvedTier tier = tierResolver.resolve(player, playerUuid);
+                    long cooldownMs = tier.cooldownSeconds() * 1000L;
 
                     // Check cooldown (skip if bypass or cooldown is 0)
-                    if (cooldownMs > 0 && cooldowns.containsKey(playerUuid)) {
-                        long lastUsed = cooldowns.get(playerUuid);
-                        long timePassed = currentTime - lastUsed;
-
-                        if (timePassed < cooldownMs) {
-                            long remainingMs = cooldownMs - timePassed;
-                            String remainingTime = formatTime(remainingMs);
-                            String msg = config.getMessageCooldown().replace("{time}", remainingTime);
-                            player.sendMessage(MessageUtil.parseColored(msg));
+                    if (cooldownMs > 0) {
+                        long remainingMs = cooldowns.getRemainingMs(playerUuid, cooldownMs, currentTime);
+
+                        if (remainingMs > 0) {
+                            String remainingTime = MessageUtil.formatTime(remainingMs);
+                            config.getMessages().cooldown().send(player::sendMessage, remainingTime);
                             return;
                         }
                     }
 
-                    // Get tier-based warmup for this player
-                    int warmupSeconds = getWarmupForPlayer(player);
+                    int warmupSeconds = tier.warmupSeconds();
 
                     if (warmupSeconds <= 0) {
                         // Bypass warmup - teleport immediately
-                        executeRandomTeleport(sender, playerRef, ref, store, world, playerUuid, false);
+                        executeRandomTeleport(sender, playerRef, ref, store, world, playerUuid, tier, false);
                     } else {
+                        // Search while the warmup counts down; moving cancels both
+                        CompletableFuture<SafeLocation> flight = startSearch(sender, ref, world, playerUuid,
+                                tier.bounds(), tier.priority(), false);
+                        if (flight == null) {
+                            return;
+                        }
                         warmupManager.startWarmup(playerRef, ref, store, world, warmupSeconds, () -> {
-                            executeRandomTeleport(sender, playerRef, ref, store, world, playerUuid, false);
-                        });
+                            if (RtpLog.isDebug()) {
+                                RtpLog.debug("Warmup done for %s, search %s", playerUuid,
+                                        flight.isDone() ? "ready" : "still running");
+                            }
+                            // Latency from here on is what the player waits past the warmup
+                            long startNanos = System.nanoTime();
+                            Executor applyOn = flight.isDone() ? Runnable::run : world;
+                            applyWhenDone(flight, applyOn, sender, playerRef, ref, store, playerUuid, false,
+                                    startNanos);
+                        }, () -> flight.cancel(false));
                     }
 
                 }, world);
             } else {
-                player.sendMessage(MessageUtil.parseColored(config.getMessageNoWorld()));
+                config.getMessages().noWorld().send(player::sendMessage);
                 return CompletableFuture.completedFuture(null);
             }
         } else {
@@ -213,175 +258,340 @@ public class RandomTeleportCommand extends AbstractAsyncCommand {
     }
 
     private void executeRandomTeleport(CommandSender sender, PlayerRef targetPlayerRef,
-            Ref<EntityStore> ref, Store<EntityStore> store, World world, UUID playerUuid, boolean isAdmin) {
-        // Start the retry loop with attempt 1
-        tryRandomLocation(sender, targetPlayerRef, ref, store, world, playerUuid, 1, isAdmin);
+            Ref<EntityStore> ref, Store<EntityStore> store, World world, UUID playerUuid,
+            ResolvedTier tier, boolean isAdmin) {
+        CompletableFuture<SafeLocation> flight = startSearch(sender, ref, world, playerUuid, tier.bounds(),
+                isAdmin ? ADMIN_PRIORITY : tier.priority(), true);
+        if (flight == null) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        applyWhenDone(flight, world, sender, targetPlayerRef, ref, store, playerUuid, isAdmin, startNanos);
+    }
+
+    /**
+     * Teleport the player once the flight completes. A cancelled flight is
+     * dropped quietly; one that failed with an error tells the sender.
+     */
+    private void applyWhenDone(CompletableFuture<SafeLocation> flight, Executor executor, CommandSender sender,
+            PlayerRef targetPlayerRef, Ref<EntityStore> ref, Store<EntityStore> store, UUID playerUuid,
+            boolean isAdmin, long startNanos) {
+        flight.whenCompleteAsync((location, error) -> {
+            if (error == null) {
+                applyLocation(sender, targetPlayerRef, ref, store, playerUuid, location, isAdmin, startNanos);
+            } else if (!flight.isCancelled()) {
+                RtpLog.warn("Search for " + playerUuid + " failed", error);
+                config.getMessages().error().send(sender::sendMessage);
+            }
+        }, executor);
     }
 
-    private void tryRandomLocation(CommandSender sender, PlayerRef targetPlayerRef,
-            Ref<EntityStore> ref, Store<EntityStore> store, World world,
-            UUID playerUuid, int attempt, boolean isAdmin) {
-        int maxAttempts = config.getMaxAttempts();
+    /**
+     * Start looking for a location for the player.
+     *
+     * @param announce whether to send the per-attempt searching message (off
+     *                 while a warmup countdown is showing)
+     * @return the flight future, completed with the location found (or null)
+     *         once the area around it is prewarmed; cancelling it cancels the
+     *         search. Null if the player already has a search running
+     */
+    private CompletableFuture<SafeLocation> startSearch(CommandSender sender, Ref<EntityStore> ref, World world,
+            UUID playerUuid, SearchBounds bounds, int priority, boolean announce) {
+        // One search per player: the flight future is both the result and the
+        // cancellation token (disconnect, world change, movement, shutdown)
+        CompletableFuture<SafeLocation> flight = new CompletableFuture<>();
+        if (!activeSearches.begin(playerUuid, world.getName(), flight)) {
+            config.getMessages().alreadySearching().send(sender::sendMessage);
+            return null;
+        }
+
+        metrics.recordRequest();
+        findLocation(sender, ref, world, bounds, priority, announce, flight).thenCompose(location -> {
+            // Load the area around the destination before the flight completes
+            if (location == null || !prewarmer.isEnabled() || flight.isDone()) {
+                return CompletableFuture.completedFuture(location);
+            }
+            return prewarmer.prewarm(world, location, flight).thenApply(ignored -> location);
+        }).whenComplete((location, error) -> {
+            if (error != null) {
+                flight.completeExceptionally(error);
+            } else {
+                flight.complete(location);
+            }
+        });
+        return flight;
+    }
 
-        if (attempt > maxAttempts) {
-            sender.sendMessage(MessageUtil.parseColored(config.getMessageNoSafeSpot()));
-            System.out.println("[RTP] Failed after " + maxAttempts + " attempts!");
+    /**
+     * Teleport the player to the location found. Runs on the world thread.
+     */
+    private void applyLocation(CommandSender sender, PlayerRef targetPlayerRef, Ref<EntityStore> ref,
+            Store<EntityStore> store, UUID playerUuid, SafeLocation location, boolean isAdmin, long startNanos) {
+        if (!ref.isValid()) {
+            // Player left or changed world while we were searching
+            if (RtpLog.isDebug()) {
+                RtpLog.debug("Dropping search result for %s, player is gone", playerUuid);
+            }
+            return;
+        }
+        if (location == null) {
+            metrics.recordFailure(RtpMetrics.FailureCause.NO_SAFE_SPOT);
+            config.getMessages().noSafeSpot().send(sender::sendMessage);
             return;
         }
 
-        // Show searching message
-        String searchMsg = config.getMessageSearching()
-                .replace("{attempt}", String.valueOf(attempt))
-                .replace("{max}", String.valueOf(maxAttempts));
-        sender.sendMessage(MessageUtil.parseColored(searchMsg));
+        var transform = store.getComponent(ref, TransformComponent.getComponentType());
+        if (transform != null) {
+            Vector3d target = new Vector3d(location.x(), location.y(), location.z());
+
+            Teleport teleport = Teleport.createForPlayer(target, transform.getRotation());
+            store.addComponent(ref, Teleport.getComponentType(), teleport);
 
-        // Get distance range — use defaults for admin teleports, tier-based for self
-        int[] distanceRange;
-        if (!isAdmin && sender instanceof Player player) {
-            distanceRange = getDistanceForPlayer(player);
+            if (RtpLog.isDebug()) {
+                RtpLog.debug("Teleported: X=%.1f Y=%.1f Z=%.1f", location.x(), location.y(), location.z());
+            }
+            long now = System.currentTimeMillis();
+            cooldowns.put(playerUuid, now);
+            cooldownJournal.append(playerUuid, now);
+            metrics.recordSuccess(startNanos);
+
+            String x = MessageUtil.formatWhole(location.x());
+            String y = MessageUtil.formatWhole(location.y());
+            String z = MessageUtil.formatWhole(location.z());
+            String distance = MessageUtil.formatWhole(location.distance());
+            if (isAdmin) {
+                config.getMessages().teleportedOther().send(sender::sendMessage, targetPlayerRef.getUsername(),
+                        x, y, z, distance);
+            } else {
+                config.getMessages().teleported().send(sender::sendMessage, x, y, z, distance);
+            }
         } else {
-            distanceRange = new int[] { config.getMinDistance(), config.getMaxDistance() };
+            metrics.recordFailure(RtpMetrics.FailureCause.NO_TRANSFORM);
+            config.getMessages().error().send(sender::sendMessage);
         }
-        int min = distanceRange[0];
-        int max = distanceRange[1];
-        double distance = min + random.nextDouble() * (max - min);
-        double angle = random.nextDouble() * 2 * Math.PI;
-
-        double randomX = Math.cos(angle) * distance;
-        double randomZ = Math.sin(angle) * distance;
-
-        final int worldX = (int) Math.floor(randomX);
-        final int worldZ = (int) Math.floor(randomZ);
-        final double fDistance = distance;
-        final double fRandomX = randomX;
-        final double fRandomZ = randomZ;
-        final int centerChunkX = worldX >> 4;
-        final int centerChunkZ = worldZ >> 4;
-
-        System.out.println("[RTP] Attempt " + attempt + "/" + maxAttempts +
-                ": X=" + worldX + " Z=" + worldZ);
-
-        // Preload 3x3 chunk grid around target
-        java.util.List<CompletableFuture<com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk>> futures = new java.util.ArrayList<>();
-
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dz = -1; dz <= 1; dz++) {
-                long idx = ((long) (centerChunkX + dx) << 32) | ((centerChunkZ + dz) & 0xFFFFFFFFL);
-                futures.add(world.getChunkAsync(idx));
-            }
+    }
+
+    /**
+     * Take a pre-validated location from the pool if one is available and still
+     * safe, otherwise fall back to a live search.
+     */
+    private CompletableFuture<SafeLocation> findLocation(CommandSender sender, Ref<EntityStore> ref, World world,
+            SearchBounds bounds, int priority, boolean announce, CompletableFuture<SafeLocation> flight) {
+        SafeLocation pooled = locationPool.poll(world, bounds);
+        if (pooled == null) {
+            return liveSearch(sender, ref, world, bounds, priority, announce, flight);
         }
 
-        // Wait for all chunks to load then check for safe spot
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenRun(() -> {
-            CompletableFuture.delayedExecutor(500, TimeUnit.MILLISECONDS).execute(() -> {
-                world.execute(() -> {
-                    // Get height range — use defaults for admin, tier-based for self
-                    int[] heightRange;
-                    if (!isAdmin && sender instanceof Player player) {
-                        heightRange = getHeightForPlayer(player);
-                    } else {
-                        heightRange = new int[] { config.getMinHeight(), config.getMaxHeight() };
-                    }
-                    int safeY = findSafeSurfaceY(world, worldX, worldZ, heightRange[0], heightRange[1]);
+        return searcher.verify(world, pooled).thenCompose(safe -> {
+            if (flight.isDone()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            if (safe) {
+                if (RtpLog.isDebug()) {
+                    RtpLog.debug("Using pooled location X=%.1f Z=%.1f", pooled.x(), pooled.z());
+                }
+                metrics.recordPoolHit();
+                return CompletableFuture.completedFuture(pooled);
+            }
+            metrics.recordFailure(RtpMetrics.FailureCause.POOL_STALE);
+            return liveSearch(sender, ref, world, bounds, priority, announce, flight);
+        });
+    }
 
-                    if (safeY < 0) {
-                        // Try another location
-                        System.out.println("[RTP] Attempt " + attempt + " failed - no safe spot, retrying...");
-                        tryRandomLocation(sender, targetPlayerRef, ref, store, world, playerUuid, attempt + 1, isAdmin);
+    /**
+     * Search through the admission controller, telling the sender their queue
+     * position if the search has to wait (with the "busy" message if it waits
+     * because the world is under load). The search is cancelled with the
+     * flight, or as soon as a new wave of attempts finds the player's entity
+     * gone. The searching message is sent once per wave.
+     */
+    private CompletableFuture<SafeLocation> liveSearch(CommandSender sender, Ref<EntityStore> ref, World world,
+            SearchBounds bounds, int priority, boolean announce, CompletableFuture<SafeLocation> flight) {
+        MessageTemplate searching = config.getMessages().searching();
+        MessageTemplate queued = config.getMessages().queued();
+        MessageTemplate busy = config.getMessages().busy();
+        String max = String.valueOf(config.getMaxAttempts());
+        CompletableFuture<SafeLocation> search = admission.submit(world.getName(), priority,
+                () -> searcher.search(world, bounds, attempt -> {
+                    if (!ref.isValid()) {
+                        flight.cancel(false);
                         return;
                     }
-
-                    double teleportY = safeY + 1.0;
-                    System.out.println("[RTP] Found safe ground at Y=" + safeY + " on attempt " + attempt);
-
-                    var transform = store.getComponent(ref, TransformComponent.getComponentType());
-                    if (transform != null) {
-                        Vector3d target = new Vector3d(fRandomX, teleportY, fRandomZ);
-
-                        Teleport teleport = Teleport.createForPlayer(target, transform.getRotation());
-                        store.addComponent(ref, Teleport.getComponentType(), teleport);
-
-                        System.out.println("[RTP] Teleported: X=" + fRandomX + " Y=" + teleportY + " Z=" + fRandomZ);
-                        cooldowns.put(playerUuid, System.currentTimeMillis());
-
-                        if (isAdmin) {
-                            String msg = config.getMessageTeleportedOther()
-                                    .replace("{player}", targetPlayerRef.getUsername())
-                                    .replace("{x}", String.format("%.0f", fRandomX))
-                                    .replace("{y}", String.format("%.0f", teleportY))
-                                    .replace("{z}", String.format("%.0f", fRandomZ))
-                                    .replace("{distance}", String.format("%.0f", fDistance));
-                            sender.sendMessage(MessageUtil.parseColored(msg));
-                        } else {
-                            String msg = config.getMessageTeleported()
-                                    .replace("{x}", String.format("%.0f", fRandomX))
-                                    .replace("{y}", String.format("%.0f", teleportY))
-                                    .replace("{z}", String.format("%.0f", fRandomZ))
-                                    .replace("{distance}", String.format("%.0f", fDistance));
-                            sender.sendMessage(MessageUtil.parseColored(msg));
-                        }
-                    } else {
-                        sender.sendMessage(MessageUtil.parseColored(config.getMessageError()));
+                    if (announce) {
+                        // Show searching message
+                        searching.send(sender::sendMessage, String.valueOf(attempt), max);
                     }
-                });
-            });
-        });
+                }), position -> (health.isBusy(world.getName()) ? busy : queued)
+                        .send(sender::sendMessage, String.valueOf(position)));
+        ActiveSearches.cancelWith(flight, search);
+        return search;
     }
 
     /**
-     * Find safe surface Y coordinate using world coordinates (ScreamingRTP
-     * pattern).
-     * Scans from max height down to find solid ground with headspace and edge
-     * safety.
-     * 
-     * @return Y coordinate of ground block, or -1 if no safe spot found
+     * Teleport many players at once (/rtp all, /rtp group). Players are split
+     * by world, each world's destinations come from one {@link BulkPlanner}
+     * plan, and the Teleport components are added at most
+     * bulk.teleportsPerTick per world tick. Like an admin teleport this skips
+     * warmup and cooldown checks; players who already have a search running
+     * are left to it. Only the routing to a world happens on the calling
+     * thread; each world's players are checked and registered on its own
+     * thread before planning starts.
      */
-    private int findSafeSurfaceY(World world, int x, int z, int minHeight, int maxHeight) {
-        for (int y = maxHeight; y >= minHeight; y--) {
+    void teleportMany(CommandSender sender, List<PlayerRef> players) {
+        // Route each player to their world the way a single /rtp <player>
+        // does; everything else about them is read on that world's thread
+        Map<World, List<PlayerRef>> byWorld = new LinkedHashMap<>();
+        for (PlayerRef playerRef : players) {
+            Ref<EntityStore> ref = playerRef.getReference();
+            if (ref == null) {
+                continue;
+            }
+            World world = ref.getStore().getExternalData().getWorld();
+            byWorld.computeIfAbsent(world, w -> new ArrayList<>()).add(playerRef);
+        }
+
+        Map<World, CompletableFuture<List<BulkTarget>>> gathering = new LinkedHashMap<>();
+        byWorld.forEach((world, worldPlayers) -> {
+            CompletableFuture<List<BulkTarget>> targets;
             try {
-                int ground = world.getBlock(x, y, z);
-                // Check: solid ground + 2 blocks of AIR headspace (no blocks AND no fluids)
-                if (ground != 0
-                        && world.getBlock(x, y + 1, z) == 0
-                        && world.getBlock(x, y + 2, z) == 0
-                        && world.getFluidId(x, y + 1, z) == 0 // Headspace not underwater
-                        && world.getFluidId(x, y + 2, z) == 0 // Headspace not underwater
-                        && hasSolidAround(world, x, y, z)) {
-                    return y;
-                }
+                targets = CompletableFuture.supplyAsync(() -> gatherTargets(world, worldPlayers), world);
             } catch (Exception e) {
-                // Skip if block query fails
+                // World is shutting down
+                targets = CompletableFuture.completedFuture(List.of());
             }
-        }
-        return -1;
+            gathering.put(world, targets.exceptionally(error -> List.of()));
+        });
+        CompletableFuture.allOf(gathering.values().toArray(new CompletableFuture[0])).whenComplete(
+                (ignored, error) -> {
+                    Map<World, List<BulkTarget>> targetsByWorld = new LinkedHashMap<>();
+                    gathering.forEach((world, targets) -> {
+                        List<BulkTarget> found = targets.join();
+                        if (!found.isEmpty()) {
+                            targetsByWorld.put(world, found);
+                        }
+                    });
+                    startBulk(sender, targetsByWorld);
+                });
     }
 
     /**
-     * Check if the 4 direct neighbors (N, S, E, W) at the same Y level are solid.
-     * Automatically handles cross-chunk boundaries.
+     * Runs on the world thread: keep the players still in this world and
+     * register a flight for each one that has no search running.
      */
-    private boolean hasSolidAround(World world, int x, int y, int z) {
-        return world.getBlock(x + 1, y, z) != 0
-                && world.getBlock(x - 1, y, z) != 0
-                && world.getBlock(x, y, z + 1) != 0
-                && world.getBlock(x, y, z - 1) != 0;
+    private List<BulkTarget> gatherTargets(World world, List<PlayerRef> players) {
+        List<BulkTarget> targets = new ArrayList<>();
+        for (PlayerRef playerRef : players) {
+            Ref<EntityStore> ref = playerRef.getReference();
+            if (ref == null || !ref.isValid()) {
+                continue;
+            }
+            Store<EntityStore> store = ref.getStore();
+            if (store.getExternalData().getWorld() != world) {
+                // Changed world since the command ran
+                continue;
+            }
+            CompletableFuture<SafeLocation> flight = new CompletableFuture<>();
+            if (!activeSearches.begin(playerRef.getUuid(), world.getName(), flight)) {
+                continue;
+            }
+            targets.add(new BulkTarget(playerRef, ref, store, flight));
+        }
+        return targets;
     }
 
-    private String formatTime(long milliseconds) {
-        long seconds = milliseconds / 1000;
-        long minutes = seconds / 60;
-        long hours = minutes / 60;
-        minutes = minutes % 60;
-        seconds = seconds % 60;
-
-        if (hours > 0) {
-            return String.format("%d hour%s %d minute%s", hours, hours == 1 ? "" : "s", minutes,
-                    minutes == 1 ? "" : "s");
-        } else if (minutes > 0) {
-            return String.format("%d minute%s %d second%s", minutes, minutes == 1 ? "" : "s", seconds,
-                    seconds == 1 ? "" : "s");
+    private void startBulk(CommandSender sender, Map<World, List<BulkTarget>> byWorld) {
+        int total = byWorld.values().stream().mapToInt(List::size).sum();
+        if (total == 0) {
+            config.getMessages().bulkNoPlayers().send(sender::sendMessage);
+            return;
+        }
+        config.getMessages().bulkStarted().send(sender::sendMessage, String.valueOf(total));
+
+        long startNanos = System.nanoTime();
+        AtomicInteger teleported = new AtomicInteger();
+        AtomicInteger worldsLeft = new AtomicInteger(byWorld.size());
+        Runnable worldDone = () -> {
+            if (worldsLeft.decrementAndGet() == 0) {
+                String time = MessageUtil.formatTime((System.nanoTime() - startNanos) / 1_000_000L);
+                config.getMessages().bulkFinished().send(sender::sendMessage, String.valueOf(teleported.get()),
+                        String.valueOf(total), time);
+            }
+        };
+
+        byWorld.forEach((world, targets) -> {
+            for (int i = 0; i < targets.size(); i++) {
+                metrics.recordRequest();
+            }
+            CompletableFuture<List<SafeLocation>> plan = bulkPlanner.plan(world, tierResolver.defaults().bounds(),
+                    targets.size(), ADMIN_PRIORITY);
+
+            // Drop the plan once every player in it has left or been cancelled
+            CompletableFuture.allOf(targets.stream().map(BulkTarget::flight).toArray(CompletableFuture[]::new))
+                    .whenComplete((ignored, error) -> plan.cancel(false));
+
+            plan.whenComplete((locations, error) -> {
+                List<SafeLocation> found = error == null ? locations : List.of();
+                world.execute(() -> applyBatch(world, targets, found, 0, startNanos, teleported, worldDone));
+            });
+        });
+    }
+
+    /**
+     * Add Teleport components for one tick's worth of players, then schedule
+     * the next batch for the following tick.
+     */
+    private void applyBatch(World world, List<BulkTarget> targets, List<SafeLocation> locations, int from,
+            long startNanos, AtomicInteger teleported, Runnable worldDone) {
+        int to = Math.min(targets.size(), from + config.getBulkTeleportsPerTick());
+        for (int i = from; i < to; i++) {
+            BulkTarget target = targets.get(i);
+            if (target.flight().isDone() || !target.ref().isValid()) {
+                target.flight().cancel(false);
+                continue;
+            }
+            if (i >= locations.size()) {
+                metrics.recordFailure(RtpMetrics.FailureCause.NO_SAFE_SPOT);
+                config.getMessages().noSafeSpot().send(target.playerRef()::sendMessage);
+                target.flight().complete(null);
+                continue;
+            }
+
+            SafeLocation location = locations.get(i);
+            var transform = target.store().getComponent(target.ref(), TransformComponent.getComponentType());
+            if (transform == null) {
+                metrics.recordFailure(RtpMetrics.FailureCause.NO_TRANSFORM);
+                target.flight().complete(null);
+                continue;
+            }
+            Vector3d position = new Vector3d(location.x(), location.y(), location.z());
+            Teleport teleport = Teleport.createForPlayer(position, transform.getRotation());
+            target.store().addComponent(target.ref(), Teleport.getComponentType(), teleport);
+
+            UUID playerUuid = target.playerRef().getUuid();
+            long now = System.currentTimeMillis();
+            cooldowns.put(playerUuid, now);
+            cooldownJournal.append(playerUuid, now);
+            metrics.recordSuccess(startNanos);
+            teleported.incrementAndGet();
+            config.getMessages().teleported().send(target.playerRef()::sendMessage,
+                    MessageUtil.formatWhole(location.x()), MessageUtil.formatWhole(location.y()),
+                    MessageUtil.formatWhole(location.z()), MessageUtil.formatWhole(location.distance()));
+            target.flight().complete(location);
+        }
+
+        if (to < targets.size()) {
+            scheduler.delayedExecutor(TICK_MS, TimeUnit.MILLISECONDS, world).execute(
+                    () -> applyBatch(world, targets, locations, to, startNanos, teleported, worldDone));
         } else {
-            return String.format("%d second%s", seconds, seconds == 1 ? "" : "s");
+            if (RtpLog.isDebug()) {
+                RtpLog.debug("Bulk teleport in %s placed %d/%d players", world.getName(), locations.size(),
+                        targets.size());
+            }
+            worldDone.run();
         }
     }
+
+    private record BulkTarget(PlayerRef playerRef, Ref<EntityStore> ref, Store<EntityStore> store,
+            CompletableFuture<SafeLocation> flight) {
+    }
 }
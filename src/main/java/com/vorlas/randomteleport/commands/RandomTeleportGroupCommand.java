@@ -0,0 +1,50 @@
+package com.vorlas.randomteleport.commands;
+
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractAsyncCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * /rtp group <players> - scatters the listed players, given as a
+ * comma-separated list of names.
+ */
+public class RandomTeleportGroupCommand extends AbstractAsyncCommand {
+
+    private final RandomTeleportCommand rtp;
+    private final RequiredArg<String> playersArg;
+
+    public RandomTeleportGroupCommand(RandomTeleportConfig config, RandomTeleportCommand rtp) {
+        super("group", "Randomly teleport a group of players");
+        this.requirePermission(config.getBulkPermission());
+        this.playersArg = this.withRequiredArg("players", "Comma-separated player names", ArgTypes.STRING);
+        this.rtp = rtp;
+    }
+
+    @NonNullDecl
+    @Override
+    protected CompletableFuture<Void> executeAsync(CommandContext commandContext) {
+        CommandSender sender = commandContext.sender();
+        Set<String> names = Arrays.stream(playersArg.get(commandContext).split(","))
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+        List<PlayerRef> players = Universe.get().getPlayers().stream()
+                .filter(playerRef -> names.contains(playerRef.getUsername().toLowerCase(Locale.ROOT)))
+                .toList();
+        rtp.teleportMany(sender, players);
+        return CompletableFuture.completedFuture(null);
+    }
+}
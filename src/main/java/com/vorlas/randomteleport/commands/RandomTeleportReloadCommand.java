@@ -0,0 +1,39 @@
+package com.vorlas.randomteleport.commands;
+
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractAsyncCommand;
+import com.vorlas.randomteleport.config.ConfigReloader;
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * /rtp reload - re-reads config.json and reports whether it was applied.
+ */
+public class RandomTeleportReloadCommand extends AbstractAsyncCommand {
+
+    private final RandomTeleportConfig config;
+    private final ConfigReloader reloader;
+
+    public RandomTeleportReloadCommand(RandomTeleportConfig config, ConfigReloader reloader) {
+        super("reload", "Reload the random teleport config");
+        this.requirePermission(config.getReloadPermission());
+        this.config = config;
+        this.reloader = reloader;
+    }
+
+    @NonNullDecl
+    @Override
+    protected CompletableFuture<Void> executeAsync(CommandContext commandContext) {
+        CommandSender sender = commandContext.sender();
+        return reloader.reload().thenAccept(problems -> {
+            if (problems.isEmpty()) {
+                config.getMessages().reloaded().send(sender::sendMessage);
+            } else {
+                config.getMessages().reloadFailed().send(sender::sendMessage, String.join("; ", problems));
+            }
+        });
+    }
+}
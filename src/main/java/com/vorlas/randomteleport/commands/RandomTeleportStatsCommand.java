@@ -0,0 +1,49 @@
+package com.vorlas.randomteleport.commands;
+
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractAsyncCommand;
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import com.vorlas.randomteleport.metrics.RtpMetrics;
+import com.vorlas.randomteleport.utils.MessageUtil;
+import com.vorlas.randomteleport.utils.RtpLog;
+import com.vorlas.randomteleport.utils.RtpScheduler;
+import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * /rtp stats - shows request counters and latency percentiles, and appends a
+ * row to metrics.csv in the plugin data directory.
+ */
+public class RandomTeleportStatsCommand extends AbstractAsyncCommand {
+
+    private final RandomTeleportConfig config;
+    private final RtpMetrics metrics;
+    private final RtpScheduler scheduler;
+
+    public RandomTeleportStatsCommand(RandomTeleportConfig config, RtpMetrics metrics, RtpScheduler scheduler) {
+        super("stats", "Show random teleport metrics");
+        this.requirePermission(config.getStatsPermission());
+        this.config = config;
+        this.metrics = metrics;
+        this.scheduler = scheduler;
+    }
+
+    @NonNullDecl
+    @Override
+    protected CompletableFuture<Void> executeAsync(CommandContext commandContext) {
+        CommandSender sender = commandContext.sender();
+        for (String line : metrics.summaryLines()) {
+            sender.sendMessage(MessageUtil.parseColored(line));
+        }
+
+        return scheduler.offload(() -> {
+            try {
+                metrics.dump(config.getDataDirectory());
+            } catch (Exception e) {
+                RtpLog.warn("Could not write metrics dump", e);
+            }
+        });
+    }
+}
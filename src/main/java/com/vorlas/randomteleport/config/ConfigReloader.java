@@ -0,0 +1,129 @@
+package com.vorlas.randomteleport.config;
+
+import com.vorlas.randomteleport.utils.RtpLog;
+import com.vorlas.randomteleport.utils.RtpScheduler;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads config.json on /rtp reload and, when watchConfig is on, whenever
+ * the file changes on disk.
+ *
+ * Parsing and validation run on the scheduler's virtual threads. A valid
+ * file replaces the config snapshot and drops every cached tier; an invalid
+ * one is reported and the running config stays as it was.
+ */
+public class ConfigReloader {
+
+    private static final String FILE_NAME = "config.json";
+    private static final long SETTLE_MS = 500;
+
+    private final RandomTeleportConfig config;
+    private final TierResolver tierResolver;
+    private final RtpScheduler scheduler;
+    private volatile WatchService watcher;
+
+    public ConfigReloader(RandomTeleportConfig config, TierResolver tierResolver, RtpScheduler scheduler) {
+        this.config = config;
+        this.tierResolver = tierResolver;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Reload in the background.
+     *
+     * @return future completed with the problems found, empty on success
+     */
+    public CompletableFuture<List<String>> reload() {
+        return scheduler.supply(this::reloadNow);
+    }
+
+    /**
+     * Watch the data directory for changes to config.json.
+     */
+    public void startWatching() {
+        if (!config.isWatchConfig()) {
+            return;
+        }
+        Path directory = config.getDataDirectory();
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watcher = service;
+            scheduler.offload(() -> watch(service));
+        } catch (IOException e) {
+            RtpLog.warn("Could not watch " + directory.resolve(FILE_NAME) + " for changes", e);
+        }
+    }
+
+    public void stop() {
+        WatchService service = watcher;
+        watcher = null;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private List<String> reloadNow() {
+        List<String> problems = config.reload();
+        if (problems.isEmpty()) {
+            tierResolver.invalidateAll();
+            RtpLog.setDebug(config.isDebugMode());
+            RtpLog.info("Config reloaded");
+        } else {
+            for (String problem : problems) {
+                RtpLog.warn("Config not reloaded: " + problem, null);
+            }
+        }
+        return problems;
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                if (!touchesConfig(service.take())) {
+                    continue;
+                }
+                // Editors often save in several steps; wait until the file settles.
+                // Only config.json events restart the wait, so the plugin's own
+                // writes to the data directory cannot hold a reload back.
+                long settleNanos = TimeUnit.MILLISECONDS.toNanos(SETTLE_MS);
+                long deadline = System.nanoTime() + settleNanos;
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    WatchKey more = service.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (more != null && touchesConfig(more)) {
+                        deadline = System.nanoTime() + settleNanos;
+                    }
+                }
+                reloadNow();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException ignored) {
+            // Stopped
+        }
+    }
+
+    private static boolean touchesConfig(WatchKey key) {
+        boolean touched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path path && path.toString().equals(FILE_NAME)) {
+                touched = true;
+            }
+        }
+        key.reset();
+        return touched;
+    }
+}
@@ -0,0 +1,30 @@
+package com.vorlas.randomteleport.config;
+
+import com.vorlas.randomteleport.utils.MessageTemplate;
+
+/**
+ * The configured messages, compiled into templates when the config is loaded.
+ * Placeholder order for each template is listed next to it.
+ */
+public record Messages(
+        MessageTemplate cooldown, // {time}
+        MessageTemplate noPermission,
+        MessageTemplate noWorld,
+        MessageTemplate warmupStart, // {seconds}
+        MessageTemplate movedCancelled,
+        MessageTemplate noSafeSpot,
+        MessageTemplate error,
+        MessageTemplate teleported, // {x}, {y}, {z}, {distance}
+        MessageTemplate searching, // {attempt}, {max}
+        MessageTemplate teleportedOther, // {player}, {x}, {y}, {z}, {distance}
+        MessageTemplate noPermissionOther,
+        MessageTemplate targetNotFound,
+        MessageTemplate queued, // {position}
+        MessageTemplate alreadySearching,
+        MessageTemplate bulkStarted, // {count}
+        MessageTemplate bulkFinished, // {teleported}, {count}, {time}
+        MessageTemplate bulkNoPlayers,
+        MessageTemplate busy, // {position}
+        MessageTemplate reloaded,
+        MessageTemplate reloadFailed) { // {errors}
+}
@@ -2,6 +2,9 @@ package com.vorlas.randomteleport.config;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.vorlas.randomteleport.search.SearchBounds;
+import com.vorlas.randomteleport.utils.MessageTemplate;
+import com.vorlas.randomteleport.utils.RtpLog;
 
 import java.io.Reader;
 import java.io.Writer;
@@ -9,16 +12,39 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.Set;
+
+/**
+ * The plugin configuration, read from config.json in the data directory.
+ *
+ * Each load parses and validates the file, then compiles it into an
+ * immutable snapshot (settings, message templates and the tier table) that
+ * replaces the previous one in a single write. Getters read the current
+ * snapshot, and a request that resolved its tier keeps that tier's values
+ * even if the config is reloaded while it runs. A file that fails to parse
+ * or validate on {@link #reload()} leaves the current snapshot in place.
+ *
+ * Settings that wire up the plugin at startup are only read once and need a
+ * restart to change: command.*, permissions.use, permissions.stats,
+ * permissions.bulk, permissions.reload, search.sampling,
+ * search.clusterChance, search.clusterRadius, search.unsafeCacheMinutes,
+ * admission.tierPriority, health.enabled, health.probeIntervalMs,
+ * pool.enabled, pool.refillIntervalSeconds, metrics.dumpIntervalSeconds and
+ * watchConfig. Every other key, including the admission limits, applies to
+ * the next request after a reload.
+ */
 public class RandomTeleportConfig {
 
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Set<String> SAMPLING_STRATEGIES = Set.of("area-uniform", "halton", "poisson-disk",
+            "cluster");
 
     private final Path configFile;
-    private ConfigData data;
+    private volatile Snapshot snapshot;
 
     public RandomTeleportConfig(Path dataDirectory) {
         this.configFile = dataDirectory.resolve("config.json");
@@ -26,19 +52,224 @@ public class RandomTeleportConfig {
     }
 
     private void load() {
-        if (Files.exists(configFile)) {
-            try (Reader reader = Files.newBufferedReader(configFile)) {
-                data = GSON.fromJson(reader, ConfigData.class);
-                if (data == null) {
-                    data = new ConfigData();
-                }
-            } catch (Exception e) {
-                data = new ConfigData();
-            }
-        } else {
-            data = new ConfigData();
+        if (!Files.exists(configFile)) {
+            snapshot = compile(new ConfigData());
             save();
+            return;
+        }
+        List<String> problems = reload();
+        if (!problems.isEmpty()) {
+            for (String problem : problems) {
+                RtpLog.warn("Config: " + problem, null);
+            }
+            RtpLog.warn("Could not load config, using defaults", null);
+            snapshot = compile(new ConfigData());
+        }
+    }
+
+    /**
+     * Read config.json again and swap in the new settings if it is valid.
+     * Blocks on file IO, so call it off the world thread.
+     *
+     * @return the problems found; empty if the new config is now active
+     */
+    public synchronized List<String> reload() {
+        ConfigData data;
+        try (Reader reader = Files.newBufferedReader(configFile)) {
+            data = GSON.fromJson(reader, ConfigData.class);
+        } catch (Exception e) {
+            return List.of("could not read config.json: " + e.getMessage());
+        }
+        if (data == null) {
+            return List.of("config.json is empty");
+        }
+
+        List<String> problems = validate(data);
+        if (!problems.isEmpty()) {
+            return problems;
+        }
+        snapshot = compile(data);
+        return List.of();
+    }
+
+    private static Snapshot compile(ConfigData data) {
+        data.tiers = Collections.unmodifiableMap(new LinkedHashMap<>(data.tiers));
+        return new Snapshot(data, compileMessages(data.messages), compileTiers(data));
+    }
+
+    /**
+     * Check a freshly parsed config for missing sections, missing command,
+     * permission and message values, and values that would break searches.
+     */
+    private static List<String> validate(ConfigData d) {
+        List<String> problems = new ArrayList<>();
+        if (d.command == null || d.permissions == null || d.tiers == null || d.defaults == null
+                || d.search == null || d.admission == null || d.health == null || d.prewarm == null
+                || d.bulk == null || d.pool == null || d.metrics == null || d.messages == null) {
+            problems.add("a section is set to null");
+            return problems;
+        }
+
+        CommandData command = d.command;
+        requireText(problems, "command.name", command.name);
+        if (command.description == null) {
+            problems.add("command.description is missing");
+        }
+        if (command.aliases == null
+                || command.aliases.stream().anyMatch(alias -> alias == null || alias.isBlank())) {
+            problems.add("command.aliases must be a list of names");
+        }
+
+        PermissionsData permissions = d.permissions;
+        requireText(problems, "permissions.use", permissions.use);
+        requireText(problems, "permissions.bypassCooldown", permissions.bypassCooldown);
+        requireText(problems, "permissions.bypassWarmup", permissions.bypassWarmup);
+        requireText(problems, "permissions.teleportOther", permissions.teleportOther);
+        requireText(problems, "permissions.stats", permissions.stats);
+        requireText(problems, "permissions.bulk", permissions.bulk);
+        requireText(problems, "permissions.reload", permissions.reload);
+
+        DefaultsData defaults = d.defaults;
+        if (defaults.minDistance < 0 || defaults.maxDistance <= defaults.minDistance) {
+            problems.add("defaults.maxDistance must be greater than defaults.minDistance (and both >= 0)");
+        }
+        if (defaults.maxHeight < defaults.minHeight) {
+            problems.add("defaults.maxHeight must not be below defaults.minHeight");
+        }
+        if (defaults.maxAttempts < 1) {
+            problems.add("defaults.maxAttempts must be at least 1");
+        }
+        if (defaults.cooldownSeconds < 0 || defaults.warmupSeconds < 0) {
+            problems.add("defaults cooldownSeconds and warmupSeconds must not be negative");
+        }
+
+        for (Map.Entry<String, TierData> entry : d.tiers.entrySet()) {
+            TierData tier = entry.getValue();
+            String name = "tiers." + entry.getKey();
+            if (tier == null) {
+                problems.add(name + " is null");
+                continue;
+            }
+            if (tier.permission == null || tier.permission.isBlank()) {
+                problems.add(name + ".permission is empty");
+            }
+            SearchBounds bounds = tierBounds(tier, defaults);
+            if (bounds.maxDistance() <= bounds.minDistance()) {
+                problems.add(name + ": maxDistance must be greater than minDistance");
+            }
+            if (bounds.maxHeight() < bounds.minHeight()) {
+                problems.add(name + ": maxHeight must not be below minHeight");
+            }
+            if (tier.cooldownSeconds < 0 || tier.warmupSeconds < 0) {
+                problems.add(name + ": cooldownSeconds and warmupSeconds must not be negative");
+            }
+        }
+
+        SearchData search = d.search;
+        if (search.freshGenerationRate < 0 || search.freshGenerationRate > 1) {
+            problems.add("search.freshGenerationRate must be between 0 and 1");
         }
+        if (search.clusterChance < 0 || search.clusterChance > 1) {
+            problems.add("search.clusterChance must be between 0 and 1");
+        }
+        if (search.sampling != null && !SAMPLING_STRATEGIES.contains(search.sampling)) {
+            problems.add("search.sampling must be one of " + SAMPLING_STRATEGIES);
+        }
+
+        // An empty message is allowed and sends nothing; a missing one is a mistake
+        messageTexts(d.messages).forEach((key, text) -> {
+            if (text == null) {
+                problems.add("messages." + key + " is missing");
+            }
+        });
+        return problems;
+    }
+
+    private static void requireText(List<String> problems, String name, String value) {
+        if (value == null || value.isBlank()) {
+            problems.add(name + " is empty");
+        }
+    }
+
+    private static Map<String, String> messageTexts(MessagesData m) {
+        Map<String, String> texts = new LinkedHashMap<>();
+        texts.put("cooldown", m.cooldown);
+        texts.put("noPermission", m.noPermission);
+        texts.put("noWorld", m.noWorld);
+        texts.put("warmupStart", m.warmupStart);
+        texts.put("movedCancelled", m.movedCancelled);
+        texts.put("noSafeSpot", m.noSafeSpot);
+        texts.put("error", m.error);
+        texts.put("teleported", m.teleported);
+        texts.put("searching", m.searching);
+        texts.put("teleportedOther", m.teleportedOther);
+        texts.put("noPermissionOther", m.noPermissionOther);
+        texts.put("targetNotFound", m.targetNotFound);
+        texts.put("queued", m.queued);
+        texts.put("alreadySearching", m.alreadySearching);
+        texts.put("bulkStarted", m.bulkStarted);
+        texts.put("bulkFinished", m.bulkFinished);
+        texts.put("bulkNoPlayers", m.bulkNoPlayers);
+        texts.put("busy", m.busy);
+        texts.put("reloaded", m.reloaded);
+        texts.put("reloadFailed", m.reloadFailed);
+        return texts;
+    }
+
+    private static Messages compileMessages(MessagesData m) {
+        return new Messages(
+                MessageTemplate.compile(m.cooldown, "time"),
+                MessageTemplate.compile(m.noPermission),
+                MessageTemplate.compile(m.noWorld),
+                MessageTemplate.compile(m.warmupStart, "seconds"),
+                MessageTemplate.compile(m.movedCancelled),
+                MessageTemplate.compile(m.noSafeSpot),
+                MessageTemplate.compile(m.error),
+                MessageTemplate.compile(m.teleported, "x", "y", "z", "distance"),
+                MessageTemplate.compile(m.searching, "attempt", "max"),
+                MessageTemplate.compile(m.teleportedOther, "player", "x", "y", "z", "distance"),
+                MessageTemplate.compile(m.noPermissionOther),
+                MessageTemplate.compile(m.targetNotFound),
+                MessageTemplate.compile(m.queued, "position"),
+                MessageTemplate.compile(m.alreadySearching),
+                MessageTemplate.compile(m.bulkStarted, "count"),
+                MessageTemplate.compile(m.bulkFinished, "teleported", "count", "time"),
+                MessageTemplate.compile(m.bulkNoPlayers),
+                MessageTemplate.compile(m.busy, "position"),
+                MessageTemplate.compile(m.reloaded),
+                MessageTemplate.compile(m.reloadFailed, "errors"));
+    }
+
+    /**
+     * Tier table with distance and height fallbacks applied, highest tier
+     * first.
+     */
+    private static TierTable compileTiers(ConfigData d) {
+        DefaultsData defaults = d.defaults;
+        ResolvedTier defaultTier = new ResolvedTier("default", defaults.cooldownSeconds, defaults.warmupSeconds,
+                new SearchBounds(defaults.minDistance, defaults.maxDistance, defaults.minHeight, defaults.maxHeight),
+                0);
+
+        String[] permissions = new String[d.tiers.size()];
+        ResolvedTier[] resolved = new ResolvedTier[d.tiers.size()];
+        int i = 0;
+        for (Map.Entry<String, TierData> entry : d.tiers.entrySet()) {
+            TierData tier = entry.getValue();
+            permissions[i] = tier.permission;
+            resolved[i] = new ResolvedTier(entry.getKey(), tier.cooldownSeconds, tier.warmupSeconds,
+                    tierBounds(tier, defaults), d.tiers.size() - i);
+            i++;
+        }
+        return new TierTable(defaultTier, permissions, resolved, d.permissions.bypassCooldown,
+                d.permissions.bypassWarmup);
+    }
+
+    private static SearchBounds tierBounds(TierData tier, DefaultsData defaults) {
+        int minDist = tier.minDistance > 0 ? tier.minDistance : defaults.minDistance;
+        int maxDist = tier.maxDistance > 0 ? tier.maxDistance : defaults.maxDistance;
+        int minH = tier.minHeight >= 0 ? tier.minHeight : defaults.minHeight;
+        int maxH = tier.maxHeight > 0 ? tier.maxHeight : defaults.maxHeight;
+        return new SearchBounds(minDist, maxDist, minH, maxH);
     }
 
     public void save() {
@@ -47,128 +278,263 @@ public class RandomTeleportConfig {
                 Files.createDirectories(configFile.getParent());
             }
             try (Writer writer = Files.newBufferedWriter(configFile)) {
-                GSON.toJson(data, writer);
+                GSON.toJson(data(), writer);
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            RtpLog.warn("Could not save config", e);
         }
     }
 
+    private ConfigData data() {
+        return snapshot.data();
+    }
+
+    public Path getDataDirectory() {
+        return configFile.getParent();
+    }
+
+    public boolean isDebugMode() {
+        return data().debugMode;
+    }
+
+    public boolean isWatchConfig() {
+        return data().watchConfig;
+    }
+
     // Command getters
     public String getCommandName() {
-        return data.command.name;
+        return data().command.name;
     }
 
     public String[] getCommandAliases() {
-        return data.command.aliases.toArray(new String[0]);
+        return data().command.aliases.toArray(new String[0]);
     }
 
     public String getCommandDescription() {
-        return data.command.description;
+        return data().command.description;
     }
 
     // Permission getters
     public String getUsePermission() {
-        return data.permissions.use;
+        return data().permissions.use;
     }
 
     public String getBypassCooldownPermission() {
-        return data.permissions.bypassCooldown;
+        return data().permissions.bypassCooldown;
     }
 
     public String getBypassWarmupPermission() {
-        return data.permissions.bypassWarmup;
+        return data().permissions.bypassWarmup;
     }
 
     public String getTeleportOtherPermission() {
-        return data.permissions.teleportOther;
+        return data().permissions.teleportOther;
+    }
+
+    public String getStatsPermission() {
+        return data().permissions.stats;
+    }
+
+    public String getBulkPermission() {
+        return data().permissions.bulk;
+    }
+
+    public String getReloadPermission() {
+        return data().permissions.reload;
     }
 
     // Tier getters
+    /**
+     * Copies of the configured tiers, in config order; changing them does not
+     * affect the active config.
+     */
     public Map<String, TierData> getTiers() {
-        return data.tiers;
+        Map<String, TierData> copies = new LinkedHashMap<>();
+        data().tiers.forEach((name, tier) -> copies.put(name, tier.copy()));
+        return copies;
+    }
+
+    /**
+     * Tier table compiled when the config was loaded.
+     */
+    TierTable getTierTable() {
+        return snapshot.tiers();
     }
 
     // Default getters
     public int getDefaultCooldownSeconds() {
-        return data.defaults.cooldownSeconds;
+        return data().defaults.cooldownSeconds;
     }
 
     public int getDefaultWarmupSeconds() {
-        return data.defaults.warmupSeconds;
+        return data().defaults.warmupSeconds;
+    }
+
+    /**
+     * Longest cooldown any player can have (default or any tier).
+     */
+    public int getMaxCooldownSeconds() {
+        ConfigData d = data();
+        int max = d.defaults.cooldownSeconds;
+        for (TierData tier : d.tiers.values()) {
+            max = Math.max(max, tier.cooldownSeconds);
+        }
+        return max;
     }
 
     public int getMinDistance() {
-        return data.defaults.minDistance;
+        return data().defaults.minDistance;
     }
 
     public int getMaxDistance() {
-        return data.defaults.maxDistance;
+        return data().defaults.maxDistance;
     }
 
     public double getMovementThreshold() {
-        return data.defaults.movementThreshold;
+        return data().defaults.movementThreshold;
     }
 
     public int getMinHeight() {
-        return data.defaults.minHeight;
+        return data().defaults.minHeight;
     }
 
     public int getMaxHeight() {
-        return data.defaults.maxHeight;
+        return data().defaults.maxHeight;
     }
 
     public int getMaxAttempts() {
-        return data.defaults.maxAttempts;
+        return data().defaults.maxAttempts;
     }
 
-    // Message getters
-    public String getMessageCooldown() {
-        return data.messages.cooldown;
+    // Search getters
+    public int getParallelCandidates() {
+        return data().search.parallelCandidates;
+    }
+
+    public int getMaxChunkRequestsPerSearch() {
+        return data().search.maxChunkRequests;
+    }
+
+    public int getLocalSearchColumns() {
+        return data().search.localColumns;
+    }
+
+    public int getUnsafeCacheMinutes() {
+        return data().search.unsafeCacheMinutes;
+    }
+
+    public boolean isPreferGenerated() {
+        return data().search.preferGenerated;
+    }
+
+    public double getFreshGenerationRate() {
+        return data().search.freshGenerationRate;
+    }
+
+    public String getSamplingStrategy() {
+        return data().search.sampling != null ? data().search.sampling : "area-uniform";
+    }
+
+    public double getClusterChance() {
+        return data().search.clusterChance;
+    }
+
+    public int getClusterRadius() {
+        return data().search.clusterRadius;
+    }
+
+    // Admission getters
+    public int getAdmissionMaxSearches() {
+        return Math.max(1, data().admission.maxSearches);
+    }
+
+    public int getAdmissionMaxSearchesPerWorld() {
+        return Math.max(1, data().admission.maxSearchesPerWorld);
+    }
+
+    public int getAdmissionMaxChunkRequests() {
+        return data().admission.maxChunkRequests;
+    }
+
+    public boolean isAdmissionTierPriority() {
+        return data().admission.tierPriority;
+    }
+
+    // Health getters
+    public boolean isHealthEnabled() {
+        return data().health.enabled;
     }
 
-    public String getMessageNoPermission() {
-        return data.messages.noPermission;
+    public int getHealthProbeIntervalMs() {
+        return Math.max(100, data().health.probeIntervalMs);
     }
 
-    public String getMessageNoWorld() {
-        return data.messages.noWorld;
+    public double getHealthBusyTickLagMs() {
+        return Math.max(1, data().health.busyTickLagMs);
     }
 
-    public String getMessageWarmupStart() {
-        return data.messages.warmupStart;
+    public double getHealthBusyChunkLoadMs() {
+        return Math.max(1, data().health.busyChunkLoadMs);
     }
 
-    public String getMessageMovedCancelled() {
-        return data.messages.movedCancelled;
+    // Prewarm getters
+    public int getPrewarmRadius() {
+        return Math.max(0, data().prewarm.radius);
     }
 
-    public String getMessageNoSafeSpot() {
-        return data.messages.noSafeSpot;
+    public int getPrewarmMaxChunkRequests() {
+        return Math.max(1, data().prewarm.maxChunkRequests);
     }
 
-    public String getMessageError() {
-        return data.messages.error;
+    public int getPrewarmTimeoutMs() {
+        return Math.max(0, data().prewarm.timeoutMs);
     }
 
-    public String getMessageTeleported() {
-        return data.messages.teleported;
+    // Bulk getters
+    public int getBulkGroupSize() {
+        return Math.max(1, data().bulk.groupSize);
     }
 
-    public String getMessageSearching() {
-        return data.messages.searching;
+    public int getBulkMinSeparation() {
+        return Math.max(0, data().bulk.minSeparation);
     }
 
-    public String getMessageTeleportedOther() {
-        return data.messages.teleportedOther;
+    public int getBulkTimeoutSeconds() {
+        return Math.max(1, data().bulk.timeoutSeconds);
     }
 
-    public String getMessageNoPermissionOther() {
-        return data.messages.noPermissionOther;
+    public int getBulkTeleportsPerTick() {
+        return Math.max(1, data().bulk.teleportsPerTick);
     }
 
-    public String getMessageTargetNotFound() {
-        return data.messages.targetNotFound;
+    // Pool getters
+    public boolean isPoolEnabled() {
+        return data().pool.enabled;
+    }
+
+    public int getPoolSize() {
+        return data().pool.sizePerTier;
+    }
+
+    public int getPoolRefillIntervalSeconds() {
+        return data().pool.refillIntervalSeconds;
+    }
+
+    public int getPoolMaxAgeSeconds() {
+        return data().pool.maxAgeSeconds;
+    }
+
+    // Metrics getters
+    public int getMetricsDumpIntervalSeconds() {
+        return data().metrics.dumpIntervalSeconds;
+    }
+
+    // Message getters
+    /**
+     * Messages compiled into templates when the config was loaded.
+     */
+    public Messages getMessages() {
+        return snapshot.messages();
     }
 
     // Inner data classes
@@ -180,6 +546,18 @@ public class RandomTeleportConfig {
         public int maxDistance = -1;
         public int minHeight = -1;
         public int maxHeight = -1;
+
+        TierData copy() {
+            TierData copy = new TierData();
+            copy.permission = permission;
+            copy.cooldownSeconds = cooldownSeconds;
+            copy.warmupSeconds = warmupSeconds;
+            copy.minDistance = minDistance;
+            copy.maxDistance = maxDistance;
+            copy.minHeight = minHeight;
+            copy.maxHeight = maxHeight;
+            return copy;
+        }
     }
 
     private static class CommandData {
@@ -193,6 +571,9 @@ public class RandomTeleportConfig {
         String bypassCooldown = "randomteleport.bypass.cooldown";
         String bypassWarmup = "randomteleport.bypass.warmup";
         String teleportOther = "randomteleport.admin.teleportother";
+        String stats = "randomteleport.admin.stats";
+        String bulk = "randomteleport.admin.bulk";
+        String reload = "randomteleport.admin.reload";
     }
 
     private static class DefaultsData {
@@ -206,6 +587,56 @@ public class RandomTeleportConfig {
         int maxAttempts = 10;
     }
 
+    private static class SearchData {
+        int parallelCandidates = 3;
+        int maxChunkRequests = 27;
+        int localColumns = 32;
+        int unsafeCacheMinutes = 30; // 0 = don't remember unsafe chunks
+        boolean preferGenerated = false;
+        double freshGenerationRate = 0.1; // share of candidates allowed on new terrain
+        String sampling = "area-uniform"; // area-uniform, halton, poisson-disk, cluster
+        double clusterChance = 0.5;
+        int clusterRadius = 256;
+    }
+
+    private static class AdmissionData {
+        int maxSearches = 8;
+        int maxSearchesPerWorld = 4;
+        int maxChunkRequests = 216;
+        boolean tierPriority = true; // false = first come, first served
+    }
+
+    private static class HealthData {
+        boolean enabled = true;
+        int probeIntervalMs = 1000;
+        int busyTickLagMs = 50; // world task lag that counts as fully busy
+        int busyChunkLoadMs = 1000; // chunk request time that counts as fully busy
+    }
+
+    private static class PrewarmData {
+        int radius = 0; // chunks around the destination to load before teleporting, 0 = off
+        int maxChunkRequests = 32; // shared by all prewarms
+        int timeoutMs = 1500;
+    }
+
+    private static class BulkData {
+        int groupSize = 4; // destinations planned around one point, sharing chunk loads
+        int minSeparation = 32; // blocks between any two players
+        int timeoutSeconds = 30;
+        int teleportsPerTick = 20;
+    }
+
+    private static class PoolData {
+        boolean enabled = true;
+        int sizePerTier = 5;
+        int refillIntervalSeconds = 5;
+        int maxAgeSeconds = 1800;
+    }
+
+    private static class MetricsData {
+        int dumpIntervalSeconds = 300; // 0 = only on /rtp stats
+    }
+
     private static class MessagesData {
         String cooldown = "&5[RTP] &bYou must wait &e{time} &bbefore using /rtp again!";
         String noPermission = "&5[RTP] &cYou don't have permission to use /rtp!";
@@ -219,16 +650,35 @@ public class RandomTeleportConfig {
         String teleportedOther = "&5[RTP] &bTeleported &e{player} &bto &fX: {x}, Y: {y}, Z: {z} &f({distance} blocks from spawn)";
         String noPermissionOther = "&5[RTP] &cYou don't have permission to teleport other players!";
         String targetNotFound = "&5[RTP] &cTarget player is not in a world!";
+        String queued = "&5[RTP] &eMany players are teleporting right now. You are &f#{position} &ein the queue.";
+        String alreadySearching = "&5[RTP] &eStill looking for a spot for you, hang on!";
+        String bulkStarted = "&5[RTP] &bFinding spots for &e{count} &bplayers...";
+        String bulkFinished = "&5[RTP] &bTeleported &e{teleported}&b/&e{count} &bplayers in &f{time}";
+        String bulkNoPlayers = "&5[RTP] &cNo matching players are online!";
+        String busy = "&5[RTP] &eThe server is busy right now. You are &f#{position} &ein the queue.";
+        String reloaded = "&5[RTP] &bConfig reloaded.";
+        String reloadFailed = "&5[RTP] &cConfig not reloaded: &f{errors}";
+    }
+
+    private record Snapshot(ConfigData data, Messages messages, TierTable tiers) {
     }
 
     private static class ConfigData {
         String pluginName = "RandomTeleport";
         String version = "1.2.0";
         boolean debugMode = false;
+        boolean watchConfig = true; // reload config.json when it changes
         CommandData command = new CommandData();
         PermissionsData permissions = new PermissionsData();
         Map<String, TierData> tiers = createDefaultTiers();
         DefaultsData defaults = new DefaultsData();
+        SearchData search = new SearchData();
+        AdmissionData admission = new AdmissionData();
+        HealthData health = new HealthData();
+        PrewarmData prewarm = new PrewarmData();
+        BulkData bulk = new BulkData();
+        PoolData pool = new PoolData();
+        MetricsData metrics = new MetricsData();
         MessagesData messages = new MessagesData();
 
         private static Map<String, TierData> createDefaultTiers() {
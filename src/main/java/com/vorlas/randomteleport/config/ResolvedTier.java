@@ -0,0 +1,20 @@
+package com.vorlas.randomteleport.config;
+
+import com.vorlas.randomteleport.search.SearchBounds;
+
+/**
+ * Everything /rtp needs to know about a player's tier, resolved once from
+ * their permissions. Bypass permissions are already applied (cooldown or
+ * warmup of 0). Higher priority tiers are admitted first when searches are
+ * queued.
+ */
+public record ResolvedTier(String name, int cooldownSeconds, int warmupSeconds, SearchBounds bounds, int priority) {
+
+    public ResolvedTier withBypass(boolean bypassCooldown, boolean bypassWarmup) {
+        if (!bypassCooldown && !bypassWarmup) {
+            return this;
+        }
+        return new ResolvedTier(name, bypassCooldown ? 0 : cooldownSeconds, bypassWarmup ? 0 : warmupSeconds, bounds,
+                priority);
+    }
+}
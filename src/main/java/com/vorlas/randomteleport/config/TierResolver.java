@@ -0,0 +1,91 @@
+package com.vorlas.randomteleport.config;
+
+import com.hypixel.hytale.server.core.entity.entities.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Resolves a player's tier from their permissions and caches the result.
+ *
+ * The tier table comes precompiled with the config snapshot, with distance
+ * and height fallbacks already applied. Cached entries are dropped on
+ * disconnect and on config reload, and expire after a short time so
+ * permission changes are picked up without a rejoin. An entry resolved
+ * against an older snapshot is never returned.
+ */
+public class TierResolver {
+
+    private static final long CACHE_TTL_MS = 30_000L;
+
+    private final RandomTeleportConfig config;
+    private final Map<UUID, CachedTier> cache = new ConcurrentHashMap<>();
+
+    public TierResolver(RandomTeleportConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Get the tier for a player, resolving their permissions only on a cache
+     * miss.
+     */
+    public ResolvedTier resolve(Player player, UUID playerId) {
+        long now = System.currentTimeMillis();
+        TierTable table = config.getTierTable();
+        CachedTier cached = cache.get(playerId);
+        if (cached != null && cached.expiresAt() > now && cached.table() == table) {
+            return cached.tier();
+        }
+
+        ResolvedTier tier = resolvePermissions(table, permission -> player.hasPermission(permission, false));
+        cache.put(playerId, new CachedTier(tier, table, now + CACHE_TTL_MS));
+        return tier;
+    }
+
+    /**
+     * Tier used when no tier permission applies (and for admin teleports).
+     */
+    public ResolvedTier defaults() {
+        return config.getTierTable().defaults();
+    }
+
+    public void invalidate(UUID playerId) {
+        cache.remove(playerId);
+    }
+
+    /**
+     * Forget every cached player, e.g. after a config reload.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * Walk the tier table with the given permission check. Kept separate from
+     * the Player lookup so it can be benchmarked without a server.
+     */
+    ResolvedTier resolvePermissions(Predicate<String> hasPermission) {
+        return resolvePermissions(config.getTierTable(), hasPermission);
+    }
+
+    private static ResolvedTier resolvePermissions(TierTable table, Predicate<String> hasPermission) {
+        ResolvedTier tier = table.defaults();
+
+        // Check tiers from highest to lowest (diamond -> gold -> silver -> bronze)
+        for (int i = 0; i < table.permissions().length; i++) {
+            if (hasPermission.test(table.permissions()[i])) {
+                tier = table.tiers()[i];
+                break;
+            }
+        }
+
+        return tier.withBypass(
+                hasPermission.test(table.bypassCooldownPermission()),
+                hasPermission.test(table.bypassWarmupPermission()));
+    }
+
+    private record CachedTier(ResolvedTier tier, TierTable table, long expiresAt) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.vorlas.randomteleport.config;
+
+/**
+ * The tiers of one config snapshot, highest first, with the permission that
+ * grants each and the bypass permissions checked on top.
+ */
+record TierTable(ResolvedTier defaults, String[] permissions, ResolvedTier[] tiers, String bypassCooldownPermission,
+        String bypassWarmupPermission) {
+}
@@ -0,0 +1,188 @@
+package com.vorlas.randomteleport.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Counters and latency histograms for the /rtp pipeline.
+ *
+ * Latencies are recorded in microseconds. The recording calls are lock-free,
+ * so they are cheap enough to leave on in production.
+ */
+public class RtpMetrics {
+
+    /**
+     * Why a request or search step failed.
+     */
+    public enum FailureCause {
+        NO_SAFE_SPOT,
+        CHUNK_LOAD,
+        POOL_STALE,
+        NO_TRANSFORM
+    }
+
+    private static final String DUMP_FILE = "metrics.csv";
+
+    private final Histogram requestLatency = new Histogram();
+    private final Histogram chunkLoadLatency = new Histogram();
+    private final Histogram scanTime = new Histogram();
+    private final Histogram attemptsPerSuccess = new Histogram();
+    private final Histogram queueWait = new Histogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder poolHits = new LongAdder();
+    private final LongAdder unsafeSkips = new LongAdder();
+    private final LongAdder[] failures = new LongAdder[FailureCause.values().length];
+    private volatile IntSupplier pendingWarmups = () -> 0;
+    private volatile IntSupplier queueDepth = () -> 0;
+
+    public RtpMetrics() {
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] = new LongAdder();
+        }
+    }
+
+    public void setPendingWarmupsGauge(IntSupplier pendingWarmups) {
+        this.pendingWarmups = pendingWarmups;
+    }
+
+    public void setQueueDepthGauge(IntSupplier queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    public void recordRequest() {
+        requests.increment();
+    }
+
+    /**
+     * Record a completed teleport.
+     *
+     * @param startNanos System.nanoTime() when the request started searching
+     */
+    public void recordSuccess(long startNanos) {
+        successes.increment();
+        requestLatency.record((System.nanoTime() - startNanos) / 1000L);
+    }
+
+    public void recordPoolHit() {
+        poolHits.increment();
+    }
+
+    /**
+     * A candidate was re-rolled because it fell in a known-unsafe chunk.
+     */
+    public void recordUnsafeSkip() {
+        unsafeSkips.increment();
+    }
+
+    public void recordFailure(FailureCause cause) {
+        failures[cause.ordinal()].increment();
+    }
+
+    public void recordChunkLoad(long startNanos) {
+        chunkLoadLatency.record((System.nanoTime() - startNanos) / 1000L);
+    }
+
+    public void recordScan(long startNanos) {
+        scanTime.record((System.nanoTime() - startNanos) / 1000L);
+    }
+
+    public void recordAttempts(int attempts) {
+        attemptsPerSuccess.record(attempts);
+    }
+
+    /**
+     * Record how long a search waited for admission (0 if it started at once).
+     */
+    public void recordQueueWait(long queuedAtNanos) {
+        queueWait.record((System.nanoTime() - queuedAtNanos) / 1000L);
+    }
+
+    /**
+     * Human-readable summary, one line per entry, with &-color codes.
+     */
+    public List<String> summaryLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add("&5[RTP] &fRequests: &e" + requests.sum() + " &fsuccesses: &e" + successes.sum()
+                + " &fpool hits: &e" + poolHits.sum() + " &fpending warmups: &e" + pendingWarmups.getAsInt());
+        StringBuilder failureLine = new StringBuilder("&5[RTP] &fFailures:");
+        for (FailureCause cause : FailureCause.values()) {
+            failureLine.append(" &7").append(cause.name().toLowerCase()).append("=&e")
+                    .append(failures[cause.ordinal()].sum());
+        }
+        failureLine.append(" &7unsafe_skips=&e").append(unsafeSkips.sum());
+        lines.add(failureLine.toString());
+        lines.add(latencyLine("Request", requestLatency));
+        lines.add(latencyLine("Chunk load", chunkLoadLatency));
+        lines.add(latencyLine("Scan", scanTime));
+        lines.add(latencyLine("Queue wait", queueWait) + " &fqueued now: &e" + queueDepth.getAsInt());
+        lines.add("&5[RTP] &fAttempts per success p50/p95/p99: &e" + attemptsPerSuccess.getPercentile(50)
+                + " / " + attemptsPerSuccess.getPercentile(95) + " / " + attemptsPerSuccess.getPercentile(99));
+        return lines;
+    }
+
+    /**
+     * Append one CSV row with the current counters and percentiles to
+     * metrics.csv in the given directory, writing a header for a new file.
+     */
+    public synchronized void dump(Path directory) throws IOException {
+        Path file = directory.resolve(DUMP_FILE);
+        boolean newFile = !Files.exists(file);
+        Files.createDirectories(directory);
+
+        StringBuilder row = new StringBuilder();
+        if (newFile) {
+            row.append("timestamp,requests,successes,pool_hits,pending_warmups");
+            for (FailureCause cause : FailureCause.values()) {
+                row.append(",fail_").append(cause.name().toLowerCase());
+            }
+            row.append(",request_p50_ms,request_p95_ms,request_p99_ms")
+                    .append(",chunk_p50_ms,chunk_p95_ms,chunk_p99_ms")
+                    .append(",scan_p50_us,scan_p95_us,scan_p99_us")
+                    .append(",attempts_p50,attempts_p95,attempts_p99")
+                    .append(",unsafe_skips,queue_depth,queue_p50_ms,queue_p95_ms,queue_p99_ms\n");
+        }
+
+        row.append(System.currentTimeMillis()).append(',').append(requests.sum()).append(',')
+                .append(successes.sum()).append(',').append(poolHits.sum()).append(',')
+                .append(pendingWarmups.getAsInt());
+        for (LongAdder failure : failures) {
+            row.append(',').append(failure.sum());
+        }
+        appendPercentiles(row, requestLatency, 1000L);
+        appendPercentiles(row, chunkLoadLatency, 1000L);
+        appendPercentiles(row, scanTime, 1L);
+        appendPercentiles(row, attemptsPerSuccess, 1L);
+        row.append(',').append(unsafeSkips.sum()).append(',').append(queueDepth.getAsInt());
+        appendPercentiles(row, queueWait, 1000L);
+        row.append('\n');
+
+        try (Writer writer = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(row.toString());
+        }
+    }
+
+    private static void appendPercentiles(StringBuilder row, Histogram histogram, long divisor) {
+        row.append(',').append(histogram.getPercentile(50) / divisor)
+                .append(',').append(histogram.getPercentile(95) / divisor)
+                .append(',').append(histogram.getPercentile(99) / divisor);
+    }
+
+    private static String latencyLine(String label, Histogram histogram) {
+        return "&5[RTP] &f" + label + " ms p50/p95/p99: &e" + formatMillis(histogram.getPercentile(50))
+                + " / " + formatMillis(histogram.getPercentile(95)) + " / "
+                + formatMillis(histogram.getPercentile(99)) + " &7(n=" + histogram.getCount() + ")";
+    }
+
+    private static String formatMillis(long micros) {
+        long tenths = micros / 100L;
+        return (tenths / 10) + "." + (tenths % 10);
+    }
+}
@@ -0,0 +1,92 @@
+package com.vorlas.randomteleport.search;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * At most one in-flight search per player.
+ *
+ * Each search is tracked by the future the command completes with its result,
+ * which doubles as the cancellation token: cancelling it stops the search
+ * before its next chunk load, retry or scan. A second /rtp in the same world
+ * is rejected while the search is running (the player is told to hang on
+ * and the first request still teleports them); one in another world
+ * replaces it.
+ */
+public class ActiveSearches {
+
+    private final Map<UUID, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Register a new search for the player.
+     *
+     * @return false if a search in the same world is already running (the
+     *         caller should let that one finish); a search in another world is
+     *         cancelled and replaced
+     */
+    public boolean begin(UUID playerId, String world, CompletableFuture<?> token) {
+        Flight flight = new Flight(world, token);
+        Flight[] replaced = new Flight[1];
+        Flight current = flights.compute(playerId, (id, existing) -> {
+            if (existing != null && !existing.token().isDone()) {
+                if (existing.world().equals(world)) {
+                    return existing;
+                }
+                replaced[0] = existing;
+            }
+            return flight;
+        });
+        if (current != flight) {
+            return false;
+        }
+        if (replaced[0] != null) {
+            replaced[0].token().cancel(false);
+        }
+        token.whenComplete((value, error) -> flights.remove(playerId, flight));
+        return true;
+    }
+
+    /**
+     * @return true if the player has a search running in the given world
+     */
+    public boolean isActive(UUID playerId, String world) {
+        Flight flight = flights.get(playerId);
+        return flight != null && !flight.token().isDone() && flight.world().equals(world);
+    }
+
+    /**
+     * Abort the player's search, e.g. on disconnect.
+     */
+    public void cancel(UUID playerId) {
+        Flight flight = flights.remove(playerId);
+        if (flight != null) {
+            flight.token().cancel(false);
+        }
+    }
+
+    public void cancelAll() {
+        for (UUID playerId : flights.keySet()) {
+            cancel(playerId);
+        }
+    }
+
+    public int size() {
+        return flights.size();
+    }
+
+    /**
+     * Cancel {@code work} when {@code token} is cancelled.
+     */
+    public static void cancelWith(CompletableFuture<?> token, CompletableFuture<?> work) {
+        token.whenComplete((value, error) -> {
+            if (token.isCancelled()) {
+                work.cancel(false);
+            }
+        });
+    }
+
+    private record Flight(String world, CompletableFuture<?> token) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.vorlas.randomteleport.search;
+
+import java.util.Random;
+
+/**
+ * Independent points with uniform density over the annulus area.
+ */
+final class AreaUniformSampler implements CandidateSampler {
+
+    @Override
+    public double[] next(String world, SearchBounds bounds, Random random) {
+        return CandidateSampler.annulusPoint(bounds, random.nextDouble(), random.nextDouble());
+    }
+}
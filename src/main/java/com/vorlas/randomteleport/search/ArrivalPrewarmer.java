@@ -0,0 +1,161 @@
+package com.vorlas.randomteleport.search;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import com.vorlas.randomteleport.utils.RtpLog;
+import com.vorlas.randomteleport.utils.RtpScheduler;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads the chunks around a chosen destination before the player is sent
+ * there, so they do not arrive in a mostly unloaded area.
+ *
+ * Chunks within prewarm.radius of the landing chunk are requested nearest
+ * first. All prewarms share one budget of prewarm.maxChunkRequests
+ * outstanding requests; the rest wait in a queue. A prewarm completes when
+ * its chunks are loaded or after prewarm.timeoutMs, whichever comes first,
+ * and requests it still has queued are then dropped. A radius of 0 turns
+ * this off.
+ */
+public class ArrivalPrewarmer {
+
+    private final RandomTeleportConfig config;
+    private final ConcurrentLinkedQueue<Request> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final RtpScheduler scheduler;
+
+    public ArrivalPrewarmer(RandomTeleportConfig config, RtpScheduler scheduler) {
+        this.config = config;
+        this.scheduler = scheduler;
+    }
+
+    public boolean isEnabled() {
+        return config.getPrewarmRadius() > 0;
+    }
+
+    public CompletableFuture<Void> prewarm(World world, SafeLocation location, CompletableFuture<?> owner) {
+        return prewarm(new WorldTerrainAccess(world), location, owner);
+    }
+
+    /**
+     * Load the chunks around the location.
+     *
+     * @param owner the request this prewarm belongs to; once it is done, no
+     *              more chunks are requested for it (may be null)
+     * @return future completed when the chunks are loaded or the timeout
+     *         passed; never completed exceptionally
+     */
+    public CompletableFuture<Void> prewarm(TerrainAccess terrain, SafeLocation location, CompletableFuture<?> owner) {
+        int radius = config.getPrewarmRadius();
+        if (radius <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long[] indices = ring((int) Math.floor(location.x()) >> 4, (int) Math.floor(location.z()) >> 4, radius);
+        Prewarm prewarm = new Prewarm(terrain, owner, indices.length);
+        long startNanos = System.nanoTime();
+        scheduler.completeOnTimeout(prewarm.done, null, config.getPrewarmTimeoutMs(), TimeUnit.MILLISECONDS);
+        if (RtpLog.isDebug()) {
+            prewarm.done.whenComplete((ignored, error) -> RtpLog.debug("Prewarmed %d/%d chunks in %dms",
+                    indices.length - prewarm.remaining.get(), indices.length,
+                    (System.nanoTime() - startNanos) / 1_000_000L));
+        }
+
+        for (long index : indices) {
+            pending.add(new Request(prewarm, index));
+        }
+        drain();
+        return prewarm.done;
+    }
+
+    /**
+     * Start queued requests while the shared budget allows.
+     */
+    private void drain() {
+        int budget = config.getPrewarmMaxChunkRequests();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= budget) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Request request = pending.poll();
+            if (request == null) {
+                inFlight.decrementAndGet();
+                // Something may have been queued after the poll but before the release
+                if (pending.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            Prewarm prewarm = request.prewarm();
+            if (prewarm.isAbandoned()) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            prewarm.terrain.getChunkAsync(request.chunkIndex()).whenComplete((chunk, error) -> {
+                inFlight.decrementAndGet();
+                prewarm.chunkDone();
+                drain();
+            });
+        }
+    }
+
+    /**
+     * Chunk indices within the radius (a disc, not a square), nearest first.
+     */
+    private static long[] ring(int centerChunkX, int centerChunkZ, int radius) {
+        int side = radius * 2 + 1;
+        int[][] offsets = new int[side * side][];
+        int count = 0;
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                if (dx * dx + dz * dz <= radius * radius) {
+                    offsets[count++] = new int[] { dx, dz };
+                }
+            }
+        }
+        Arrays.sort(offsets, 0, count, Comparator.comparingInt(o -> o[0] * o[0] + o[1] * o[1]));
+
+        long[] indices = new long[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = LocationSearcher.chunkIndex(centerChunkX + offsets[i][0], centerChunkZ + offsets[i][1]);
+        }
+        return indices;
+    }
+
+    private record Request(Prewarm prewarm, long chunkIndex) {
+    }
+
+    private static class Prewarm {
+        final TerrainAccess terrain;
+        final CompletableFuture<?> owner;
+        final AtomicInteger remaining;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Prewarm(TerrainAccess terrain, CompletableFuture<?> owner, int chunks) {
+            this.terrain = terrain;
+            this.owner = owner;
+            this.remaining = new AtomicInteger(chunks);
+        }
+
+        boolean isAbandoned() {
+            return done.isDone() || (owner != null && owner.isDone());
+        }
+
+        void chunkDone() {
+            if (remaining.decrementAndGet() == 0) {
+                done.complete(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.vorlas.randomteleport.search;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import com.vorlas.randomteleport.utils.RtpLog;
+import com.vorlas.randomteleport.utils.RtpScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plans destinations for many players at once (/rtp all, /rtp group).
+ *
+ * Destinations are placed in groups of bulk.groupSize on a small lattice
+ * around one candidate point, bulk.minSeparation blocks apart, so the 3x3
+ * chunk grids of a group overlap and the union is requested only once. Each
+ * group takes one slot in the {@link SearchAdmission} queue, so a bulk plan
+ * never runs more searches than the admission limits allow. Groups that come
+ * up short are re-planned around new points, for at most
+ * defaults.maxAttempts rounds or until bulk.timeoutSeconds runs out, and the
+ * plan then completes with whatever it has.
+ */
+public class BulkPlanner {
+
+    private final RandomTeleportConfig config;
+    private final LocationSearcher searcher;
+    private final SearchAdmission admission;
+    private final RtpScheduler scheduler;
+
+    public BulkPlanner(RandomTeleportConfig config, LocationSearcher searcher, SearchAdmission admission,
+            RtpScheduler scheduler) {
+        this.config = config;
+        this.searcher = searcher;
+        this.admission = admission;
+        this.scheduler = scheduler;
+    }
+
+    public CompletableFuture<List<SafeLocation>> plan(World world, SearchBounds bounds, int count, int priority) {
+        return plan(new WorldTerrainAccess(world), bounds, count, priority);
+    }
+
+    /**
+     * Find up to {@code count} safe locations, each at least bulk.minSeparation
+     * blocks from the others. Cancelling the returned future cancels the
+     * groups still queued or running.
+     *
+     * @return future completed on the terrain thread with the locations found,
+     *         possibly fewer than requested
+     */
+    public CompletableFuture<List<SafeLocation>> plan(TerrainAccess terrain, SearchBounds bounds, int count,
+            int priority) {
+        Plan plan = new Plan(terrain, bounds, count, priority);
+        if (count <= 0) {
+            plan.result.complete(List.of());
+            return plan.result;
+        }
+        long timeoutMs = config.getBulkTimeoutSeconds() * 1000L;
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> terrain.execute(() -> {
+            if (!plan.result.isDone() && RtpLog.isDebug()) {
+                RtpLog.debug("Bulk plan in %s timed out with %d/%d locations", terrain.getName(),
+                        plan.found.size(), count);
+            }
+            plan.finish();
+        }), timeoutMs, TimeUnit.MILLISECONDS);
+        plan.result.whenComplete((locations, error) -> timeout.cancel(false));
+        nextRound(plan);
+        return plan.result;
+    }
+
+    private void nextRound(Plan plan) {
+        plan.terrain.execute(() -> {
+            int missing = plan.count - plan.found.size();
+            if (missing <= 0 || plan.round >= config.getMaxAttempts()) {
+                plan.finish();
+                return;
+            }
+            if (plan.result.isDone()) {
+                return;
+            }
+            plan.round++;
+
+            int groupSize = config.getBulkGroupSize();
+            List<CompletableFuture<Void>> groups = new ArrayList<>();
+            for (int remaining = missing; remaining > 0; remaining -= groupSize) {
+                int members = Math.min(groupSize, remaining);
+                CompletableFuture<Void> group = admission.submit(plan.terrain.getName(), plan.priority,
+                        () -> runGroup(plan, members), position -> { });
+                ActiveSearches.cancelWith(plan.result, group);
+                groups.add(group);
+            }
+            CompletableFuture.allOf(groups.toArray(new CompletableFuture[0]))
+                    .whenComplete((ignored, error) -> nextRound(plan));
+        });
+    }
+
+    /**
+     * Load the chunks for one group of destinations and scan each of them.
+     */
+    private CompletableFuture<Void> runGroup(Plan plan, int members) {
+        if (plan.result.isDone()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        TerrainAccess terrain = plan.terrain;
+        SearchBounds bounds = plan.bounds;
+        Random random = ThreadLocalRandom.current();
+        double[] anchor = searcher.nextCandidate(terrain.getName(), bounds, random);
+
+        // Square lattice centred on the anchor
+        int side = (int) Math.ceil(Math.sqrt(members));
+        int spacing = config.getBulkMinSeparation();
+        int[] xs = new int[members];
+        int[] zs = new int[members];
+        long[] indices = new long[members * 9];
+        int unique = 0;
+        for (int m = 0; m < members; m++) {
+            xs[m] = (int) Math.floor(anchor[0] + (m % side - (side - 1) / 2.0) * spacing);
+            zs[m] = (int) Math.floor(anchor[1] + (m / side - (side - 1) / 2.0) * spacing);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    indices[unique++] = LocationSearcher.chunkIndex((xs[m] >> 4) + dx, (zs[m] >> 4) + dz);
+                }
+            }
+        }
+        long[] chunkIndices = Arrays.stream(indices, 0, unique).distinct().toArray();
+
+        @SuppressWarnings("unchecked")
+        CompletableFuture<ChunkView>[] futures = new CompletableFuture[chunkIndices.length];
+        for (int i = 0; i < chunkIndices.length; i++) {
+            futures[i] = terrain.getChunkAsync(chunkIndices[i]);
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture.allOf(futures).whenComplete((ignored, error) -> terrain.execute(() -> {
+            try {
+                if (error == null && !plan.result.isDone()) {
+                    scanGroup(plan, xs, zs, chunkIndices, futures);
+                }
+            } finally {
+                done.complete(null);
+            }
+        }));
+        return done;
+    }
+
+    private void scanGroup(Plan plan, int[] xs, int[] zs, long[] chunkIndices, CompletableFuture<ChunkView>[] futures) {
+        String world = plan.terrain.getName();
+        SearchBounds bounds = plan.bounds;
+        for (int i = 0; i < chunkIndices.length; i++) {
+            if (futures[i].join() != null) {
+                searcher.chunkLoaded(world, chunkIndices[i]);
+            }
+        }
+
+        int placed = 0;
+        for (int m = 0; m < xs.length && plan.found.size() < plan.count; m++) {
+            int centerChunkX = xs[m] >> 4;
+            int centerChunkZ = zs[m] >> 4;
+            ColumnScanner scanner = new ColumnScanner(centerChunkX, centerChunkZ);
+            for (int i = 0; i < chunkIndices.length; i++) {
+                ChunkView chunk = futures[i].join();
+                if (chunk != null) {
+                    scanner.put(chunkIndices[i], chunk);
+                }
+            }
+
+            double x;
+            double z;
+            int groundY = scanner.findSafeSurfaceY(xs[m], zs[m], bounds.minHeight(), bounds.maxHeight());
+            if (groundY >= 0) {
+                x = xs[m] + 0.5;
+                z = zs[m] + 0.5;
+            } else {
+                ColumnScanner.SafeColumn column = scanner.findSafeColumnNear(xs[m], zs[m], bounds.minHeight(),
+                        bounds.maxHeight(), config.getLocalSearchColumns());
+                if (column == null) {
+                    searcher.markUnsafe(world, centerChunkX, centerChunkZ, bounds);
+                    continue;
+                }
+                x = column.x() + 0.5;
+                z = column.z() + 0.5;
+                groundY = column.groundY();
+            }
+
+            if (plan.isSeparated(x, z, config.getBulkMinSeparation())) {
+                searcher.accepted(world, x, z);
+                plan.found.add(new SafeLocation(x, groundY + 1.0, z, Math.sqrt(x * x + z * z)));
+                placed++;
+            }
+        }
+        if (RtpLog.isDebug()) {
+            RtpLog.debug("Bulk group in %s placed %d/%d with %d chunk requests", world, placed, xs.length,
+                    chunkIndices.length);
+        }
+    }
+
+    /**
+     * State of one bulk plan. {@link #found} and {@link #round} are only
+     * touched on the terrain thread.
+     */
+    private static class Plan {
+        final TerrainAccess terrain;
+        final SearchBounds bounds;
+        final int count;
+        final int priority;
+        final List<SafeLocation> found = new ArrayList<>();
+        final CompletableFuture<List<SafeLocation>> result = new CompletableFuture<>();
+        int round;
+
+        Plan(TerrainAccess terrain, SearchBounds bounds, int count, int priority) {
+            this.terrain = terrain;
+            this.bounds = bounds;
+            this.count = count;
+            this.priority = priority;
+        }
+
+        boolean isSeparated(double x, double z, int minSeparation) {
+            double minSq = (double) minSeparation * minSeparation;
+            for (SafeLocation other : found) {
+                double dx = other.x() - x;
+                double dz = other.z() - z;
+                if (dx * dx + dz * dz < minSq) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void finish() {
+            result.complete(List.copyOf(found));
+        }
+    }
+}
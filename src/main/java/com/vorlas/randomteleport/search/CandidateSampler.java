@@ -0,0 +1,48 @@
+package com.vorlas.randomteleport.search;
+
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+
+import java.util.Random;
+
+/**
+ * Chooses where in the distance band the next candidate goes.
+ *
+ * Selected with search.sampling: "area-uniform" (default), "halton",
+ * "poisson-disk" or "cluster". Implementations must be thread-safe; the
+ * random generator passed in belongs to the calling thread.
+ */
+public interface CandidateSampler {
+
+    /**
+     * @return {x, z} of the next candidate, inside the bounds' distance band
+     */
+    double[] next(String world, SearchBounds bounds, Random random);
+
+    /**
+     * Called with every location a search settled on.
+     */
+    default void accepted(String world, double x, double z) {
+    }
+
+    static CandidateSampler create(RandomTeleportConfig config) {
+        return switch (config.getSamplingStrategy()) {
+            case "halton" -> new HaltonSampler();
+            case "poisson-disk" -> new PoissonDiskSampler(new RecentTeleports());
+            case "cluster" -> new ClusterSampler(new RecentTeleports(), config.getClusterChance(),
+                    config.getClusterRadius());
+            default -> new AreaUniformSampler();
+        };
+    }
+
+    /**
+     * Map two uniform numbers in [0, 1) to a point spread evenly over the
+     * area of the annulus (the radius is not uniform: outer rings are larger).
+     */
+    static double[] annulusPoint(SearchBounds bounds, double u, double v) {
+        double minSq = (double) bounds.minDistance() * bounds.minDistance();
+        double maxSq = (double) bounds.maxDistance() * bounds.maxDistance();
+        double radius = Math.sqrt(minSq + u * (maxSq - minSq));
+        double angle = v * 2 * Math.PI;
+        return new double[] { Math.cos(angle) * radius, Math.sin(angle) * radius };
+    }
+}
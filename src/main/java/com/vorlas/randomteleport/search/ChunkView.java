@@ -0,0 +1,13 @@
+package com.vorlas.randomteleport.search;
+
+/**
+ * Block and fluid reads from one loaded chunk, in chunk-local X/Z
+ * coordinates. Lets {@link ColumnScanner} work on server chunks and on
+ * synthetic terrain alike.
+ */
+public interface ChunkView {
+
+    int getBlock(int localX, int y, int localZ);
+
+    int getFluidId(int localX, int y, int localZ);
+}
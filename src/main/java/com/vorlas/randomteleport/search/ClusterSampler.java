@@ -0,0 +1,49 @@
+package com.vorlas.randomteleport.search;
+
+import java.util.Random;
+
+/**
+ * Places some candidates close to recent teleports, where chunks are likely
+ * still loaded, and the rest area-uniformly. The chance and radius trade
+ * fresh generation against players landing near each other.
+ */
+final class ClusterSampler implements CandidateSampler {
+
+    private static final int NEAR_TRIES = 4;
+
+    private final RecentTeleports recent;
+    private final double chance;
+    private final int radius;
+
+    ClusterSampler(RecentTeleports recent, double chance, int radius) {
+        this.recent = recent;
+        this.chance = chance;
+        this.radius = radius;
+    }
+
+    @Override
+    public double[] next(String world, SearchBounds bounds, Random random) {
+        if (random.nextDouble() < chance) {
+            for (int i = 0; i < NEAR_TRIES; i++) {
+                double[] anchor = recent.random(world, random);
+                if (anchor == null) {
+                    break;
+                }
+                double r = radius * Math.sqrt(random.nextDouble());
+                double angle = random.nextDouble() * 2 * Math.PI;
+                double x = anchor[0] + Math.cos(angle) * r;
+                double z = anchor[1] + Math.sin(angle) * r;
+                double distance = Math.sqrt(x * x + z * z);
+                if (distance >= bounds.minDistance() && distance <= bounds.maxDistance()) {
+                    return new double[] { x, z };
+                }
+            }
+        }
+        return CandidateSampler.annulusPoint(bounds, random.nextDouble(), random.nextDouble());
+    }
+
+    @Override
+    public void accepted(String world, double x, double z) {
+        recent.add(world, x, z);
+    }
+}
@@ -0,0 +1,173 @@
+package com.vorlas.randomteleport.search;
+
+/**
+ * Reads block columns straight from a 3x3 grid of already loaded chunks.
+ * Each chunk is resolved once per column instead of going through the world's
+ * coordinate-to-chunk lookup for every block. Must be used on the world thread.
+ */
+final class ColumnScanner {
+
+    private static final int GRID_SIZE = 3;
+    private static final int UNKNOWN = -1;
+    private static final int LOCAL_SEARCH_STEP = 3;
+    private static final int[] SPIRAL_OFFSETS = buildSpiral(GRID_SIZE * 16 / LOCAL_SEARCH_STEP);
+
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final ChunkView[] chunks = new ChunkView[GRID_SIZE * GRID_SIZE];
+
+    ColumnScanner(int centerChunkX, int centerChunkZ) {
+        this.minChunkX = centerChunkX - 1;
+        this.minChunkZ = centerChunkZ - 1;
+    }
+
+    /**
+     * Add a loaded chunk to the grid. Chunks outside the 3x3 grid are ignored.
+     */
+    void put(long chunkIndex, ChunkView chunk) {
+        int gx = (int) (chunkIndex >> 32) - minChunkX;
+        int gz = (int) chunkIndex - minChunkZ;
+        if (gx >= 0 && gx < GRID_SIZE && gz >= 0 && gz < GRID_SIZE) {
+            chunks[gx * GRID_SIZE + gz] = chunk;
+        }
+    }
+
+    /**
+     * Find safe surface Y coordinate (ScreamingRTP pattern).
+     * Scans from max height down to find solid ground with 2 blocks of AIR
+     * headspace (no blocks AND no fluids) and solid neighbours. The two blocks
+     * above the current Y are carried down the column, so each level costs one
+     * block read unless it is a candidate.
+     *
+     * @return Y coordinate of ground block, or -1 if no safe spot found
+     */
+    int findSafeSurfaceY(int x, int z, int minHeight, int maxHeight) {
+        ChunkView center = chunkAt(x, z);
+        if (center == null) {
+            return -1;
+        }
+
+        int lx = x & 15;
+        int lz = z & 15;
+        int above2 = block(center, lx, maxHeight + 2, lz);
+        int above1 = block(center, lx, maxHeight + 1, lz);
+
+        for (int y = maxHeight; y >= minHeight; y--) {
+            int ground = block(center, lx, y, lz);
+            if (ground > 0
+                    && above1 == 0
+                    && above2 == 0
+                    && fluid(center, lx, y + 1, lz) == 0 // Headspace not underwater
+                    && fluid(center, lx, y + 2, lz) == 0 // Headspace not underwater
+                    && hasSolidAround(x, y, z)) {
+                return y;
+            }
+            above2 = above1;
+            above1 = ground;
+        }
+        return -1;
+    }
+
+    /**
+     * Search other columns of the loaded grid, in a square spiral around (x, z)
+     * sampled every few blocks, so a failed candidate does not waste the chunks
+     * that were loaded for it. Columns whose neighbours would fall outside the
+     * grid are skipped.
+     *
+     * @param maxColumns maximum number of columns to scan
+     * @return the first safe column found, or null
+     */
+    SafeColumn findSafeColumnNear(int x, int z, int minHeight, int maxHeight, int maxColumns) {
+        int minX = minChunkX * 16 + 1;
+        int maxX = (minChunkX + GRID_SIZE) * 16 - 2;
+        int minZ = minChunkZ * 16 + 1;
+        int maxZ = (minChunkZ + GRID_SIZE) * 16 - 2;
+
+        int scanned = 0;
+        for (int i = 0; i < SPIRAL_OFFSETS.length && scanned < maxColumns; i += 2) {
+            int cx = x + SPIRAL_OFFSETS[i];
+            int cz = z + SPIRAL_OFFSETS[i + 1];
+            if (cx < minX || cx > maxX || cz < minZ || cz > maxZ) {
+                continue;
+            }
+            scanned++;
+            int y = findSafeSurfaceY(cx, cz, minHeight, maxHeight);
+            if (y >= 0) {
+                return new SafeColumn(cx, y, cz);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check a single ground position with the same rules as findSafeSurfaceY.
+     */
+    boolean isSafeSpot(int x, int y, int z) {
+        return findSafeSurfaceY(x, z, y, y) == y;
+    }
+
+    /**
+     * Check if the 4 direct neighbors (N, S, E, W) at the same Y level are solid.
+     * Neighbours across a chunk border are read from the adjacent grid chunk.
+     */
+    boolean hasSolidAround(int x, int y, int z) {
+        return block(chunkAt(x + 1, z), (x + 1) & 15, y, z & 15) > 0
+                && block(chunkAt(x - 1, z), (x - 1) & 15, y, z & 15) > 0
+                && block(chunkAt(x, z + 1), x & 15, y, (z + 1) & 15) > 0
+                && block(chunkAt(x, z - 1), x & 15, y, (z - 1) & 15) > 0;
+    }
+
+    /**
+     * Build {dx, dz} pairs ring by ring around the origin (origin excluded),
+     * spaced LOCAL_SEARCH_STEP blocks apart.
+     */
+    private static int[] buildSpiral(int rings) {
+        int[] offsets = new int[rings * (rings + 1) * 8];
+        int i = 0;
+        for (int r = 1; r <= rings; r++) {
+            for (int d = -r; d < r; d++) {
+                offsets[i++] = d * LOCAL_SEARCH_STEP;
+                offsets[i++] = -r * LOCAL_SEARCH_STEP;
+                offsets[i++] = r * LOCAL_SEARCH_STEP;
+                offsets[i++] = d * LOCAL_SEARCH_STEP;
+                offsets[i++] = -d * LOCAL_SEARCH_STEP;
+                offsets[i++] = r * LOCAL_SEARCH_STEP;
+                offsets[i++] = -r * LOCAL_SEARCH_STEP;
+                offsets[i++] = -d * LOCAL_SEARCH_STEP;
+            }
+        }
+        return offsets;
+    }
+
+    private ChunkView chunkAt(int x, int z) {
+        int gx = (x >> 4) - minChunkX;
+        int gz = (z >> 4) - minChunkZ;
+        if (gx < 0 || gx >= GRID_SIZE || gz < 0 || gz >= GRID_SIZE) {
+            return null;
+        }
+        return chunks[gx * GRID_SIZE + gz];
+    }
+
+    private static int block(ChunkView chunk, int localX, int y, int localZ) {
+        if (chunk == null) {
+            return UNKNOWN;
+        }
+        try {
+            return chunk.getBlock(localX, y, localZ);
+        } catch (Exception e) {
+            // Skip if block query fails (e.g. Y outside the world)
+            return UNKNOWN;
+        }
+    }
+
+    private static int fluid(ChunkView chunk, int localX, int y, int localZ) {
+        try {
+            return chunk.getFluidId(localX, y, localZ);
+        } catch (Exception e) {
+            return UNKNOWN;
+        }
+    }
+
+    record SafeColumn(int x, int groundY, int z) {
+    }
+}
@@ -0,0 +1,237 @@
+package com.vorlas.randomteleport.search;
+
+import com.vorlas.randomteleport.utils.RtpLog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of chunks known to be generated already, per world.
+ *
+ * Every chunk a search or bulk group loads is recorded, the whole 3x3 grid
+ * around each candidate included, so the index grows with each search and
+ * pool refill. In "prefer generated" mode candidates are drawn from indexed
+ * chunks, so most teleports land on terrain that costs a disk read instead of
+ * fresh world generation. Chunks that had no safe spot stay in the index;
+ * the searcher skips them through the unsafe region cache. The index is saved to
+ * generated-chunks.dat and is capped per world. The file is read at most
+ * once and merged into what is already recorded, and a save reads it first,
+ * so turning the mode on by reload adds to the saved index instead of
+ * replacing it.
+ */
+public class GeneratedChunkIndex {
+
+    private static final String FILE_NAME = "generated-chunks.dat";
+    private static final int MAGIC = 0x52545047; // "RTPG"
+    private static final int VERSION = 1;
+    private static final int MAX_CHUNKS_PER_WORLD = 1 << 20;
+    private static final int SAMPLE_TRIES = 16;
+
+    private final Path file;
+    private final Map<String, WorldChunks> worlds = new ConcurrentHashMap<>();
+    private boolean loaded;
+
+    public GeneratedChunkIndex(Path dataDirectory) {
+        this.file = dataDirectory.resolve(FILE_NAME);
+    }
+
+    public void record(String world, long chunkIndex) {
+        worlds.computeIfAbsent(world, w -> new WorldChunks()).add(chunkIndex);
+    }
+
+    public boolean contains(String world, long chunkIndex) {
+        WorldChunks chunks = worlds.get(world);
+        return chunks != null && chunks.contains(chunkIndex);
+    }
+
+    public int size(String world) {
+        WorldChunks chunks = worlds.get(world);
+        return chunks != null ? chunks.size() : 0;
+    }
+
+    /**
+     * Pick a random block position in an indexed chunk inside the distance
+     * band, preferring chunks whose 8 neighbours are indexed too (so loading
+     * the 3x3 grid generates nothing).
+     *
+     * @return {x, z} or null if no indexed chunk in the band was found
+     */
+    public double[] sample(String world, SearchBounds bounds, Random random) {
+        WorldChunks chunks = worlds.get(world);
+        if (chunks == null || chunks.size() == 0) {
+            return null;
+        }
+
+        double[] fallback = null;
+        for (int i = 0; i < SAMPLE_TRIES; i++) {
+            long index = chunks.random(random);
+            int chunkX = (int) (index >> 32);
+            int chunkZ = (int) index;
+            double x = (chunkX << 4) + random.nextDouble() * 16;
+            double z = (chunkZ << 4) + random.nextDouble() * 16;
+            double distance = Math.sqrt(x * x + z * z);
+            if (distance < bounds.minDistance() || distance > bounds.maxDistance()) {
+                continue;
+            }
+            if (hasIndexedNeighbours(chunks, chunkX, chunkZ)) {
+                return new double[] { x, z };
+            }
+            if (fallback == null) {
+                fallback = new double[] { x, z };
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Merge the saved index into memory. Only the first call reads the file.
+     */
+    public synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return;
+            }
+            int worldCount = in.readInt();
+            for (int w = 0; w < worldCount; w++) {
+                String world = in.readUTF();
+                int count = in.readInt();
+                WorldChunks chunks = worlds.computeIfAbsent(world, key -> new WorldChunks());
+                for (int i = 0; i < count; i++) {
+                    chunks.add(in.readLong());
+                }
+            }
+        } catch (IOException e) {
+            RtpLog.warn("Could not read generated chunk index", e);
+        }
+    }
+
+    /**
+     * Write the index, replacing the previous file atomically. The file is
+     * merged in first if it has not been read yet.
+     */
+    public synchronized void save() {
+        load();
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(FILE_NAME + ".tmp");
+            List<Map.Entry<String, long[]>> snapshot = new ArrayList<>();
+            worlds.forEach((world, chunks) -> snapshot.add(Map.entry(world, chunks.toArray())));
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, long[]> entry : snapshot) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    for (long index : entry.getValue()) {
+                        out.writeLong(index);
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            RtpLog.warn("Could not save generated chunk index", e);
+        }
+    }
+
+    private static boolean hasIndexedNeighbours(WorldChunks chunks, int chunkX, int chunkZ) {
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                if ((dx != 0 || dz != 0)
+                        && !chunks.contains(LocationSearcher.chunkIndex(chunkX + dx, chunkZ + dz))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Open-addressing set of chunk indices plus a dense array of them for
+     * uniform random picks. Both only ever grow (up to the cap).
+     */
+    private static final class WorldChunks {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] table = newTable(1024);
+        private long[] list = new long[512];
+        private int size;
+
+        synchronized void add(long index) {
+            if (index == EMPTY || size >= MAX_CHUNKS_PER_WORLD) {
+                return;
+            }
+            if ((size + 1) * 2 > table.length) {
+                rehash(table.length * 2);
+            }
+            int slot = slot(table, index);
+            if (table[slot] == index) {
+                return;
+            }
+            table[slot] = index;
+            if (size == list.length) {
+                list = Arrays.copyOf(list, size * 2);
+            }
+            list[size++] = index;
+        }
+
+        synchronized boolean contains(long index) {
+            return table[slot(table, index)] == index;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long random(Random random) {
+            return list[random.nextInt(size)];
+        }
+
+        synchronized long[] toArray() {
+            return Arrays.copyOf(list, size);
+        }
+
+        private void rehash(int capacity) {
+            long[] next = newTable(capacity);
+            for (int i = 0; i < size; i++) {
+                next[slot(next, list[i])] = list[i];
+            }
+            table = next;
+        }
+
+        private static int slot(long[] table, long index) {
+            long h = index * 0x9E3779B97F4A7C15L;
+            int mask = table.length - 1;
+            int slot = (int) (h ^ (h >>> 32)) & mask;
+            while (table[slot] != EMPTY && table[slot] != index) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private static long[] newTable(int capacity) {
+            long[] table = new long[capacity];
+            Arrays.fill(table, EMPTY);
+            return table;
+        }
+    }
+}
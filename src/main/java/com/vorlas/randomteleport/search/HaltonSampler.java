@@ -0,0 +1,39 @@
+package com.vorlas.randomteleport.search;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Successive points of the 2D Halton sequence (bases 2 and 3), one sequence
+ * per world, mapped onto the annulus area. Consecutive teleports fill the
+ * band evenly instead of clumping. The sequence is shifted by a random offset
+ * chosen at startup so landing spots are not the same on every server.
+ */
+final class HaltonSampler implements CandidateSampler {
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final double offsetU = ThreadLocalRandom.current().nextDouble();
+    private final double offsetV = ThreadLocalRandom.current().nextDouble();
+
+    @Override
+    public double[] next(String world, SearchBounds bounds, Random random) {
+        long index = counters.computeIfAbsent(world, w -> new AtomicLong()).incrementAndGet();
+        double u = (radicalInverse(index, 2) + offsetU) % 1.0;
+        double v = (radicalInverse(index, 3) + offsetV) % 1.0;
+        return CandidateSampler.annulusPoint(bounds, u, v);
+    }
+
+    static double radicalInverse(long index, int base) {
+        double result = 0;
+        double fraction = 1.0 / base;
+        while (index > 0) {
+            result += (index % base) * fraction;
+            index /= base;
+            fraction /= base;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,169 @@
+package com.vorlas.randomteleport.search;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import com.vorlas.randomteleport.utils.RtpScheduler;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of pre-validated landing spots, kept per world and per search bounds
+ * (i.e. per tier distance band).
+ *
+ * A bucket is created the first time /rtp asks for a world/bounds pair, after
+ * which a low-priority background filler keeps it topped up. The filler runs
+ * at most one search at a time, and only when {@link SearchAdmission} has
+ * spare capacity and no queued players, so it never competes with player
+ * requests for chunk generation. It also pauses while the bucket's world is
+ * under load, and on an idle world starts the next refill right away instead
+ * of waiting for the next interval.
+ */
+public class LocationPool {
+
+    private static final long FILL_TIMEOUT_SECONDS = 60;
+    private static final double MAX_FILL_LOAD = 0.5;
+    private static final double IDLE_LOAD = 0.1;
+
+    private final RtpScheduler scheduler;
+    private final ScheduledFuture<?> refillTask;
+    private final Map<PoolKey, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean filling = new AtomicBoolean(false);
+    private final LocationSearcher searcher;
+    private final SearchAdmission admission;
+    private final WorldHealth health;
+    private final RandomTeleportConfig config;
+
+    public LocationPool(RandomTeleportConfig config, LocationSearcher searcher, SearchAdmission admission,
+            WorldHealth health, RtpScheduler scheduler) {
+        this.scheduler = scheduler;
+        this.config = config;
+        this.searcher = searcher;
+        this.admission = admission;
+        this.health = health;
+
+        long interval = Math.max(1, config.getPoolRefillIntervalSeconds());
+        this.refillTask = config.isPoolEnabled()
+                ? scheduler.scheduleWithFixedDelay(this::refill, interval, interval, TimeUnit.SECONDS)
+                : null;
+    }
+
+    public void shutdown() {
+        if (refillTask != null) {
+            refillTask.cancel(false);
+        }
+        buckets.clear();
+    }
+
+    /**
+     * Take a pooled location for the world and bounds, registering the pair
+     * for background refill.
+     *
+     * @return a location, or null if the pool is disabled or empty
+     */
+    public SafeLocation poll(World world, SearchBounds bounds) {
+        if (!config.isPoolEnabled()) {
+            return null;
+        }
+
+        Bucket bucket = buckets.computeIfAbsent(new PoolKey(world.getName(), bounds), k -> new Bucket(world));
+        bucket.world = world;
+
+        long oldest = System.currentTimeMillis() - config.getPoolMaxAgeSeconds() * 1000L;
+        PooledLocation entry;
+        while ((entry = bucket.locations.pollFirst()) != null) {
+            bucket.size.decrementAndGet();
+            if (entry.createdAt >= oldest) {
+                return entry.location;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Start one background search for the emptiest bucket below target size.
+     */
+    private void refill() {
+        if (!filling.compareAndSet(false, true)) {
+            return;
+        }
+
+        int target = config.getPoolSize();
+        Map.Entry<PoolKey, Bucket> emptiest = null;
+        for (Map.Entry<PoolKey, Bucket> entry : buckets.entrySet()) {
+            int size = entry.getValue().size.get();
+            if (size < target && (emptiest == null || size < emptiest.getValue().size.get())) {
+                emptiest = entry;
+            }
+        }
+
+        if (emptiest == null) {
+            filling.set(false);
+            return;
+        }
+
+        Bucket bucket = emptiest.getValue();
+        SearchBounds bounds = emptiest.getKey().bounds();
+        String worldName = bucket.world.getName();
+        if (health.load(worldName) > MAX_FILL_LOAD) {
+            // World is struggling; leave it alone until it recovers
+            filling.set(false);
+            return;
+        }
+        try {
+            CompletableFuture<SafeLocation> search = admission.trySubmit(worldName,
+                    () -> searcher.search(bucket.world, bounds, attempt -> {
+                    }));
+            if (search == null) {
+                // Players are searching; try again next interval
+                filling.set(false);
+                return;
+            }
+            // Cancelling stops the search itself and frees its admission slot
+            ScheduledFuture<?> timeout;
+            try {
+                timeout = scheduler.schedule(() -> search.cancel(false), FILL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (RejectedExecutionException e) {
+                search.cancel(false);
+                throw e;
+            }
+            search.whenComplete((location, error) -> {
+                timeout.cancel(false);
+                if (location != null) {
+                    bucket.locations.addLast(new PooledLocation(location, System.currentTimeMillis()));
+                    bucket.size.incrementAndGet();
+                }
+                filling.set(false);
+                if (location != null && refillTask != null && !refillTask.isCancelled()
+                        && health.load(worldName) < IDLE_LOAD) {
+                    scheduler.execute(this::refill);
+                }
+            });
+        } catch (Exception e) {
+            filling.set(false);
+        }
+    }
+
+    private record PoolKey(String worldName, SearchBounds bounds) {
+    }
+
+    private record PooledLocation(SafeLocation location, long createdAt) {
+    }
+
+    private static class Bucket {
+        final ConcurrentLinkedDeque<PooledLocation> locations = new ConcurrentLinkedDeque<>();
+        final AtomicInteger size = new AtomicInteger();
+        volatile World world;
+
+        Bucket(World world) {
+            this.world = world;
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package com.vorlas.randomteleport.search;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import com.vorlas.randomteleport.metrics.RtpMetrics;
+import com.vorlas.randomteleport.utils.RtpLog;
+import com.vorlas.randomteleport.utils.RtpScheduler;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Finds safe landing spots by picking random points in a distance band,
+ * loading the 3x3 chunk grid around each point and scanning the column on the
+ * world thread with a {@link ColumnScanner}. Several candidates can be in flight at once (see
+ * search.parallelCandidates). Used by both the /rtp command and the background
+ * pool filler. The search itself only talks to a {@link TerrainAccess}, so it
+ * can also run against {@link ProceduralTerrain} without a server. The number
+ * of parallel candidates and the pace of retries follow the world's load as
+ * reported by {@link WorldHealth}.
+ */
+public class LocationSearcher {
+
+    private static final int CHUNKS_PER_CANDIDATE = 9;
+    private static final int MAX_READY_RETRIES = 3;
+    private static final long READY_RETRY_DELAY_MS = 50;
+    private static final int MAX_UNSAFE_REROLLS = 8;
+    private static final long MAX_PACE_DELAY_MS = 250;
+    private final RandomTeleportConfig config;
+    private final RtpMetrics metrics;
+    private final UnsafeRegionCache unsafeRegions;
+    private final GeneratedChunkIndex generatedChunks;
+    private final CandidateSampler sampler;
+    private final WorldHealth health;
+    private final RtpScheduler scheduler;
+
+    public LocationSearcher(RandomTeleportConfig config, RtpMetrics metrics, UnsafeRegionCache unsafeRegions,
+            GeneratedChunkIndex generatedChunks, WorldHealth health, RtpScheduler scheduler) {
+        this.config = config;
+        this.metrics = metrics;
+        this.unsafeRegions = unsafeRegions;
+        this.generatedChunks = generatedChunks;
+        this.sampler = CandidateSampler.create(config);
+        this.health = health;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Search for a safe location inside the given bounds.
+     * Up to {@link #getSearchWidth()} candidates are checked in parallel; the
+     * first safe one wins and the others are dropped when their chunks arrive.
+     * The attempt listener is called on the world thread once per wave of
+     * candidates, with the number of the first attempt in that wave.
+     * Cancelling the returned future stops the search: no further candidates,
+     * chunk retries or scans are started. Server chunk futures are shared, so
+     * loads already requested are left to finish and their results ignored.
+     * If the plugin scheduler shuts down while the search still needs it, the
+     * search fails with a RejectedExecutionException.
+     *
+     * @return future completed on the world thread with the location found, or
+     *         with null once all attempts failed
+     */
+    public CompletableFuture<SafeLocation> search(World world, SearchBounds bounds, IntConsumer attemptListener) {
+        return search(new WorldTerrainAccess(world), bounds, attemptListener);
+    }
+
+    /**
+     * Search for a safe location in any terrain; see
+     * {@link #search(World, SearchBounds, IntConsumer)}.
+     */
+    public CompletableFuture<SafeLocation> search(TerrainAccess terrain, SearchBounds bounds,
+            IntConsumer attemptListener) {
+        health.track(terrain);
+        // Fewer candidates at once on a busy world
+        int maxAttempts = config.getMaxAttempts();
+        int width = Math.min(health.scale(terrain.getName(), getSearchWidth()), maxAttempts);
+        SearchState state = new SearchState(terrain, bounds, attemptListener, maxAttempts, Math.max(1, width));
+        for (int i = 0; i < width; i++) {
+            launchNext(state);
+        }
+        if (state.maxAttempts <= 0) {
+            state.result.complete(null);
+        }
+        return state.result;
+    }
+
+    /**
+     * Number of candidates a single search may have in flight, limited so that
+     * one search never has more than the configured number of chunk requests
+     * outstanding (each candidate loads a 3x3 grid). This is the width on an
+     * idle world; busy worlds get fewer.
+     */
+    public int getSearchWidth() {
+        int chunkLimit = Math.max(1, config.getMaxChunkRequestsPerSearch() / CHUNKS_PER_CANDIDATE);
+        return Math.max(1, Math.min(config.getParallelCandidates(), chunkLimit));
+    }
+
+    /**
+     * Upper bound on the chunk requests one search keeps in flight.
+     */
+    public int getChunkRequestsPerSearch() {
+        return getSearchWidth() * CHUNKS_PER_CANDIDATE;
+    }
+
+    /**
+     * Re-check a previously found location (e.g. one taken from the pool) in
+     * case the terrain changed since it was validated.
+     *
+     * @return future completed on the world thread with true if still safe
+     */
+    public CompletableFuture<Boolean> verify(World world, SafeLocation location) {
+        return verify(new WorldTerrainAccess(world), location);
+    }
+
+    public CompletableFuture<Boolean> verify(TerrainAccess terrain, SafeLocation location) {
+        int x = (int) Math.floor(location.x());
+        int z = (int) Math.floor(location.z());
+        int groundY = (int) location.y() - 1;
+
+        // Only the chunks holding the column and its 4 neighbours are needed
+        ColumnScanner scanner = new ColumnScanner(x >> 4, z >> 4);
+        long[] indices = new long[] {
+                chunkIndex(x >> 4, z >> 4),
+                chunkIndex((x + 1) >> 4, z >> 4),
+                chunkIndex((x - 1) >> 4, z >> 4),
+                chunkIndex(x >> 4, (z + 1) >> 4),
+                chunkIndex(x >> 4, (z - 1) >> 4)
+        };
+
+        return loadChunks(terrain, indices, scanner, 0, null)
+                .thenApplyAsync(ready -> ready && scanner.isSafeSpot(x, groundY, z), terrain)
+                .exceptionally(e -> false);
+    }
+
+    private void launchNext(SearchState state) {
+        int attempt = state.launched.incrementAndGet();
+        if (attempt > state.maxAttempts || state.result.isDone()) {
+            return;
+        }
+        if ((attempt - 1) % state.width == 0) {
+            // One progress callback per wave, on the world thread
+            state.terrain.execute(() -> {
+                if (!state.result.isDone()) {
+                    state.attemptListener.accept(attempt);
+                }
+            });
+        }
+        tryRandomLocation(state, attempt);
+    }
+
+    private void candidateFailed(SearchState state) {
+        if (state.failed.incrementAndGet() >= state.maxAttempts) {
+            if (RtpLog.isDebug()) {
+                RtpLog.debug("Failed after %d attempts!", state.maxAttempts);
+            }
+            state.result.complete(null);
+            return;
+        }
+        if (scheduler.isShutdown()) {
+            // Chunk retries were refused too; fail rather than burn the
+            // remaining attempts
+            state.result.completeExceptionally(new RejectedExecutionException("Plugin scheduler is shut down"));
+            return;
+        }
+        // Back off before the next candidate while the world is busy
+        long delay = (long) (health.load(state.terrain.getName()) * MAX_PACE_DELAY_MS);
+        if (delay > 0) {
+            try {
+                scheduler.delayedExecutor(delay, TimeUnit.MILLISECONDS, state.terrain)
+                        .execute(() -> launchNext(state));
+            } catch (RejectedExecutionException e) {
+                // Shut down in the meantime; nothing would ever complete the search
+                state.result.completeExceptionally(e);
+            }
+        } else {
+            launchNext(state);
+        }
+    }
+
+    private void tryRandomLocation(SearchState state, int attempt) {
+        TerrainAccess terrain = state.terrain;
+        SearchBounds bounds = state.bounds;
+
+        double[] point = nextCandidate(terrain.getName(), bounds, ThreadLocalRandom.current());
+        double randomX = point[0];
+        double randomZ = point[1];
+        double distance = Math.sqrt(randomX * randomX + randomZ * randomZ);
+
+        final double foundDistance = distance;
+        final double foundX = randomX;
+        final double foundZ = randomZ;
+        final int worldX = (int) Math.floor(randomX);
+        final int worldZ = (int) Math.floor(randomZ);
+        final int centerChunkX = worldX >> 4;
+        final int centerChunkZ = worldZ >> 4;
+
+        if (RtpLog.isDebug()) {
+            RtpLog.debug("Attempt %d/%d: X=%d Z=%d", attempt, state.maxAttempts, worldX, worldZ);
+        }
+
+        // Preload 3x3 chunk grid around target
+        long[] indices = new long[CHUNKS_PER_CANDIDATE];
+        int i = 0;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                indices[i++] = chunkIndex(centerChunkX + dx, centerChunkZ + dz);
+            }
+        }
+
+        // Scan as soon as the grid is resident. Chunk futures are shared with
+        // the server, so losing candidates are dropped rather than cancelled.
+        ColumnScanner scanner = new ColumnScanner(centerChunkX, centerChunkZ);
+        long startNanos = System.nanoTime();
+        loadChunks(terrain, indices, scanner, 0, state.result).whenComplete((ready, error) -> {
+            if (state.result.isDone()) {
+                return;
+            }
+            if (error != null || !ready) {
+                if (RtpLog.isDebug()) {
+                    RtpLog.debug("Attempt %d failed - chunks not available, retrying...", attempt);
+                }
+                metrics.recordFailure(RtpMetrics.FailureCause.CHUNK_LOAD);
+                candidateFailed(state);
+                return;
+            }
+            metrics.recordChunkLoad(startNanos);
+            terrain.execute(() -> {
+                if (state.result.isDone()) {
+                    return;
+                }
+
+                long scanStart = System.nanoTime();
+                int safeY = scanner.findSafeSurfaceY(worldX, worldZ, bounds.minHeight(), bounds.maxHeight());
+                if (safeY >= 0) {
+                    metrics.recordScan(scanStart);
+                    recordAttempts(state);
+                    if (RtpLog.isDebug()) {
+                        RtpLog.debug("Found safe ground at Y=%d on attempt %d (%dms)", safeY, attempt,
+                                (System.nanoTime() - startNanos) / 1_000_000L);
+                    }
+                    accepted(terrain.getName(), foundX, foundZ);
+                    state.result.complete(new SafeLocation(foundX, safeY + 1.0, foundZ, foundDistance));
+                    return;
+                }
+
+                // Try other columns of the grid we already paid to load
+                ColumnScanner.SafeColumn column = scanner.findSafeColumnNear(worldX, worldZ,
+                        bounds.minHeight(), bounds.maxHeight(), config.getLocalSearchColumns());
+                metrics.recordScan(scanStart);
+
+                if (column == null) {
+                    markUnsafe(terrain.getName(), centerChunkX, centerChunkZ, bounds);
+                    // Try another location
+                    if (RtpLog.isDebug()) {
+                        RtpLog.debug("Attempt %d failed - no safe spot after %dms, retrying...", attempt,
+                                (System.nanoTime() - startNanos) / 1_000_000L);
+                    }
+                    candidateFailed(state);
+                    return;
+                }
+
+                recordAttempts(state);
+                double x = column.x() + 0.5;
+                double z = column.z() + 0.5;
+                if (RtpLog.isDebug()) {
+                    RtpLog.debug("Found safe ground nearby at X=%d Y=%d Z=%d on attempt %d (%dms)", column.x(),
+                            column.groundY(), column.z(), attempt, (System.nanoTime() - startNanos) / 1_000_000L);
+                }
+                accepted(terrain.getName(), x, z);
+                state.result.complete(new SafeLocation(x, column.groundY() + 1.0, z, Math.sqrt(x * x + z * z)));
+            });
+        });
+    }
+
+    /**
+     * Record how many candidates it took to succeed: the ones that failed
+     * before the winner plus the winner itself. Candidates still in flight
+     * when it won are not counted.
+     */
+    private void recordAttempts(SearchState state) {
+        metrics.recordAttempts(state.failed.get() + 1);
+    }
+
+    /**
+     * Pick the next candidate point: from the generated chunk index in
+     * prefer-generated mode, otherwise from the configured sampler, re-rolling
+     * points in chunks the unsafe region cache remembers.
+     *
+     * @return {x, z}
+     */
+    double[] nextCandidate(String world, SearchBounds bounds, Random random) {
+        boolean preferGenerated = config.isPreferGenerated();
+        int rerolls = 0;
+        while (true) {
+            // In prefer-generated mode most candidates come from chunks that
+            // already exist; the rest (or all, if none are indexed in the
+            // band yet) come from the configured sampler
+            double[] point = preferGenerated && random.nextDouble() >= config.getFreshGenerationRate()
+                    ? generatedChunks.sample(world, bounds, random)
+                    : null;
+            if (point == null) {
+                point = sampler.next(world, bounds, random);
+            }
+
+            // Skip chunks that recently had no safe spot, without loading them
+            if (rerolls >= MAX_UNSAFE_REROLLS || !unsafeRegions.isUnsafe(world,
+                    (int) Math.floor(point[0]) >> 4, (int) Math.floor(point[1]) >> 4, bounds)) {
+                return point;
+            }
+            rerolls++;
+            metrics.recordUnsafeSkip();
+        }
+    }
+
+    /**
+     * Remember that a chunk had no safe spot in the given height band.
+     */
+    void markUnsafe(String world, int chunkX, int chunkZ, SearchBounds bounds) {
+        unsafeRegions.markUnsafe(world, chunkX, chunkZ, bounds);
+    }
+
+    /**
+     * Note a chunk that was loaded, for prefer-generated mode. Every chunk of
+     * a loaded grid is recorded, neighbours included; chunks whose candidate
+     * failed are kept out of later picks by the unsafe region cache in
+     * {@link #nextCandidate}.
+     */
+    void chunkLoaded(String world, long chunkIndex) {
+        if (config.isPreferGenerated()) {
+            generatedChunks.record(world, chunkIndex);
+        }
+    }
+
+    /**
+     * Tell the sampler where a search settled.
+     */
+    void accepted(String world, double x, double z) {
+        sampler.accepted(world, x, z);
+    }
+
+    /**
+     * Load the given chunks into the scanner and complete once every one of
+     * them is resident.
+     * A chunk that comes back without data is requested again after a short
+     * backoff, at most {@link #MAX_READY_RETRIES} times, unless the owning
+     * search has finished or been cancelled in the meantime.
+     *
+     * @return future completed with true when all chunks are ready, false if
+     *         some never became available
+     */
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Boolean> loadChunks(TerrainAccess terrain, long[] indices, ColumnScanner scanner,
+            int retry, CompletableFuture<?> owner) {
+        if (owner != null && owner.isDone()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<ChunkView>[] futures = new CompletableFuture[indices.length];
+        long roundStart = System.nanoTime();
+        for (int i = 0; i < indices.length; i++) {
+            futures[i] = terrain.getChunkAsync(indices[i]);
+        }
+
+        return CompletableFuture.allOf(futures).thenCompose(ignored -> {
+            // Each round is one sample, so backoff between rounds is left out
+            health.recordChunkLoad(terrain.getName(), roundStart);
+            int missing = 0;
+            for (int i = 0; i < futures.length; i++) {
+                ChunkView chunk = futures[i].join();
+                if (chunk == null) {
+                    missing++;
+                } else {
+                    scanner.put(indices[i], chunk);
+                    chunkLoaded(terrain.getName(), indices[i]);
+                }
+            }
+            if (missing == 0) {
+                return CompletableFuture.completedFuture(true);
+            }
+            if (retry >= MAX_READY_RETRIES) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            long[] missingIndices = new long[missing];
+            int m = 0;
+            for (int i = 0; i < futures.length; i++) {
+                if (futures[i].join() == null) {
+                    missingIndices[m++] = indices[i];
+                }
+            }
+            Executor backoff = scheduler.delayedExecutor(READY_RETRY_DELAY_MS * (retry + 1),
+                    TimeUnit.MILLISECONDS, terrain);
+            return CompletableFuture.supplyAsync(() -> missingIndices, backoff)
+                    .thenCompose(next -> loadChunks(terrain, next, scanner, retry + 1, owner));
+        });
+    }
+
+    private static class SearchState {
+        final TerrainAccess terrain;
+        final SearchBounds bounds;
+        final IntConsumer attemptListener;
+        final int maxAttempts;
+        final int width;
+        final AtomicInteger launched = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final CompletableFuture<SafeLocation> result = new CompletableFuture<>();
+
+        SearchState(TerrainAccess terrain, SearchBounds bounds, IntConsumer attemptListener, int maxAttempts,
+                int width) {
+            this.terrain = terrain;
+            this.bounds = bounds;
+            this.attemptListener = attemptListener;
+            this.maxAttempts = maxAttempts;
+            this.width = width;
+        }
+    }
+
+    /**
+     * Pack chunk coordinates into the index used by World.getChunkAsync and
+     * {@link TerrainAccess#getChunkAsync(long)}.
+     */
+    public static long chunkIndex(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
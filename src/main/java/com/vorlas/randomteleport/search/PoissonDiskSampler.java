@@ -0,0 +1,43 @@
+package com.vorlas.randomteleport.search;
+
+import java.util.Random;
+
+/**
+ * Approximate Poisson-disk spacing by best-candidate sampling: draw a few
+ * area-uniform points and keep the one farthest from recent teleports, so
+ * players are spread apart.
+ */
+final class PoissonDiskSampler implements CandidateSampler {
+
+    private static final int CANDIDATES = 8;
+
+    private final RecentTeleports recent;
+
+    PoissonDiskSampler(RecentTeleports recent) {
+        this.recent = recent;
+    }
+
+    @Override
+    public double[] next(String world, SearchBounds bounds, Random random) {
+        double[] best = null;
+        double bestDistanceSq = -1;
+        for (int i = 0; i < CANDIDATES; i++) {
+            double[] point = CandidateSampler.annulusPoint(bounds, random.nextDouble(), random.nextDouble());
+            double distanceSq = recent.nearestDistanceSq(world, point[0], point[1]);
+            if (distanceSq == Double.MAX_VALUE) {
+                // Nothing recorded yet
+                return point;
+            }
+            if (distanceSq > bestDistanceSq) {
+                best = point;
+                bestDistanceSq = distanceSq;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void accepted(String world, double x, double z) {
+        recent.add(world, x, z);
+    }
+}
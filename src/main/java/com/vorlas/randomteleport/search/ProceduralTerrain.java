@@ -0,0 +1,148 @@
+package com.vorlas.randomteleport.search;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory terrain for load tests and benchmarks.
+ *
+ * Surface height comes from two octaves of value noise, giving plains,
+ * hills and mountains; columns below sea level are covered in water. Chunks
+ * are only a heightmap, so they are cheap to keep. A chunk seen for the first
+ * time completes after the configured latency, like world generation; chunks
+ * already generated come back at once, like resident ones.
+ */
+public class ProceduralTerrain implements TerrainAccess {
+
+    /** Solid block id; everything else above the surface is air. */
+    public static final int SOLID = 1;
+    /** Fluid id used for water below sea level. */
+    public static final int WATER = 1;
+
+    private static final int HEIGHT = 320;
+    private static final int SEA_LEVEL = 150;
+    private static final int MAX_CACHED_CHUNKS = 65_536;
+
+    private final String name;
+    private final long seed;
+    private final long latencyMs;
+    private final Executor worldThread;
+    private final Map<Long, Chunk> generated = new ConcurrentHashMap<>();
+
+    /**
+     * @param latencyMs   delay before a newly generated chunk is returned
+     * @param worldThread executor standing in for the world thread (usually a
+     *                    single-thread executor)
+     */
+    public ProceduralTerrain(String name, long seed, long latencyMs, Executor worldThread) {
+        this.name = name;
+        this.seed = seed;
+        this.latencyMs = latencyMs;
+        this.worldThread = worldThread;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        worldThread.execute(task);
+    }
+
+    @Override
+    public CompletableFuture<ChunkView> getChunkAsync(long chunkIndex) {
+        Chunk chunk = generated.get(chunkIndex);
+        if (chunk != null) {
+            return CompletableFuture.completedFuture(chunk);
+        }
+        Executor generator = latencyMs > 0
+                ? CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS)
+                : Runnable::run;
+        return CompletableFuture.supplyAsync(() -> {
+            if (generated.size() >= MAX_CACHED_CHUNKS) {
+                // Crude bound for long load tests; the next loads pay the latency again
+                generated.clear();
+            }
+            return generated.computeIfAbsent(chunkIndex, this::generate);
+        }, generator);
+    }
+
+    public int getGeneratedChunkCount() {
+        return generated.size();
+    }
+
+    /**
+     * Surface height (top solid block) of a column.
+     */
+    public int surface(int x, int z) {
+        double continent = noise(x / 384.0, z / 384.0, seed);
+        double detail = noise(x / 48.0, z / 48.0, seed * 31 + 17);
+        return (int) (85 + continent * 160 + detail * 25);
+    }
+
+    private Chunk generate(long chunkIndex) {
+        int baseX = (int) (chunkIndex >> 32) << 4;
+        int baseZ = (int) chunkIndex << 4;
+        short[] heights = new short[256];
+        for (int lx = 0; lx < 16; lx++) {
+            for (int lz = 0; lz < 16; lz++) {
+                heights[lz * 16 + lx] = (short) Math.min(HEIGHT - 1, surface(baseX + lx, baseZ + lz));
+            }
+        }
+        return new Chunk(heights);
+    }
+
+    /**
+     * Smoothed value noise in [0, 1).
+     */
+    private static double noise(double x, double z, long seed) {
+        int x0 = (int) Math.floor(x);
+        int z0 = (int) Math.floor(z);
+        double fx = smooth(x - x0);
+        double fz = smooth(z - z0);
+        double top = lerp(lattice(x0, z0, seed), lattice(x0 + 1, z0, seed), fx);
+        double bottom = lerp(lattice(x0, z0 + 1, seed), lattice(x0 + 1, z0 + 1, seed), fx);
+        return lerp(top, bottom, fz);
+    }
+
+    private static double lattice(int x, int z, long seed) {
+        long h = seed ^ (x * 0x9E3779B97F4A7C15L) ^ (z * 0xC2B2AE3D27D4EB4FL);
+        h = (h ^ (h >>> 31)) * 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 29;
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    private static double smooth(double t) {
+        return t * t * (3 - 2 * t);
+    }
+
+    private static double lerp(double a, double b, double t) {
+        return a + (b - a) * t;
+    }
+
+    private record Chunk(short[] heights) implements ChunkView {
+
+        @Override
+        public int getBlock(int localX, int y, int localZ) {
+            checkY(y);
+            return y <= heights[localZ * 16 + localX] ? SOLID : 0;
+        }
+
+        @Override
+        public int getFluidId(int localX, int y, int localZ) {
+            checkY(y);
+            return y > heights[localZ * 16 + localX] && y <= SEA_LEVEL ? WATER : 0;
+        }
+
+        private static void checkY(int y) {
+            if (y < 0 || y >= HEIGHT) {
+                throw new IndexOutOfBoundsException("y=" + y);
+            }
+        }
+    }
+}
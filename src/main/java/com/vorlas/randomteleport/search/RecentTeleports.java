@@ -0,0 +1,68 @@
+package com.vorlas.randomteleport.search;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The last few hundred landing spots per world, in a ring buffer.
+ */
+final class RecentTeleports {
+
+    private static final int CAPACITY = 256;
+
+    private final Map<String, Ring> worlds = new ConcurrentHashMap<>();
+
+    void add(String world, double x, double z) {
+        worlds.computeIfAbsent(world, w -> new Ring()).add(x, z);
+    }
+
+    /**
+     * @return squared distance to the nearest recorded spot, or
+     *         Double.MAX_VALUE if there is none
+     */
+    double nearestDistanceSq(String world, double x, double z) {
+        Ring ring = worlds.get(world);
+        return ring != null ? ring.nearestDistanceSq(x, z) : Double.MAX_VALUE;
+    }
+
+    /**
+     * @return a random recorded spot {x, z}, or null if there is none
+     */
+    double[] random(String world, Random random) {
+        Ring ring = worlds.get(world);
+        return ring != null ? ring.random(random) : null;
+    }
+
+    private static final class Ring {
+        private final double[] xs = new double[CAPACITY];
+        private final double[] zs = new double[CAPACITY];
+        private int next;
+        private int size;
+
+        synchronized void add(double x, double z) {
+            xs[next] = x;
+            zs[next] = z;
+            next = (next + 1) % CAPACITY;
+            size = Math.min(size + 1, CAPACITY);
+        }
+
+        synchronized double nearestDistanceSq(double x, double z) {
+            double nearest = Double.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                double dx = xs[i] - x;
+                double dz = zs[i] - z;
+                nearest = Math.min(nearest, dx * dx + dz * dz);
+            }
+            return nearest;
+        }
+
+        synchronized double[] random(Random random) {
+            if (size == 0) {
+                return null;
+            }
+            int i = random.nextInt(size);
+            return new double[] { xs[i], zs[i] };
+        }
+    }
+}
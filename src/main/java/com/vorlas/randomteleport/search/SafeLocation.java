@@ -0,0 +1,8 @@
+package com.vorlas.randomteleport.search;
+
+/**
+ * A validated landing spot. The Y coordinate is the position the player is
+ * teleported to (one block above the solid ground block).
+ */
+public record SafeLocation(double x, double y, double z, double distance) {
+}
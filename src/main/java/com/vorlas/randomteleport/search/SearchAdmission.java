@@ -0,0 +1,213 @@
+package com.vorlas.randomteleport.search;
+
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import com.vorlas.randomteleport.metrics.RtpMetrics;
+import com.vorlas.randomteleport.utils.RtpLog;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Plugin-wide limit on concurrent searches.
+ *
+ * Each admitted search holds one search slot, globally and in its world, plus
+ * the chunk requests it may have in flight (see
+ * {@link LocationSearcher#getChunkRequestsPerSearch()}, read at admission so
+ * a reload applies to the next search; a search gives back exactly what it
+ * reserved). Requests that do not
+ * fit wait in a queue ordered by tier priority (or plain FIFO when
+ * admission.tierPriority is off) and start as earlier searches finish.
+ * Cancelling the returned future withdraws a queued request, or cancels the
+ * search if it is already running. The per-world limit shrinks with the
+ * world's load ({@link WorldHealth}), down to one search on a busy world.
+ */
+public class SearchAdmission {
+
+    private final RandomTeleportConfig config;
+    private final LocationSearcher searcher;
+    private final RtpMetrics metrics;
+    private final WorldHealth health;
+
+    // Guarded by synchronized (this)
+    private final TreeSet<Waiter> queue;
+    private final Map<String, Integer> runningPerWorld = new HashMap<>();
+    private int running;
+    private int chunkRequests;
+    private long sequence;
+
+    public SearchAdmission(RandomTeleportConfig config, LocationSearcher searcher, RtpMetrics metrics,
+            WorldHealth health) {
+        this.config = config;
+        this.searcher = searcher;
+        this.metrics = metrics;
+        this.health = health;
+        Comparator<Waiter> fifo = Comparator.comparingLong(Waiter::sequence);
+        this.queue = new TreeSet<>(config.isAdmissionTierPriority()
+                ? Comparator.comparingInt(Waiter::priority).reversed().thenComparing(fifo)
+                : fifo);
+        metrics.setQueueDepthGauge(this::getQueueDepth);
+    }
+
+    /**
+     * Run a search as soon as there is capacity for it.
+     *
+     * @param priority higher runs first when tier priority is on
+     * @param onQueued called with the 1-based queue position if the search has
+     *                 to wait
+     * @return future completed with the search result; cancelling it
+     *         withdraws or cancels the search
+     */
+    public <T> CompletableFuture<T> submit(String world, int priority, Supplier<CompletableFuture<T>> search,
+            IntConsumer onQueued) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        IntConsumer start = reserved -> run(world, reserved, search, result);
+        Waiter waiter;
+        int position = 0;
+        int chunks = searcher.getChunkRequestsPerSearch();
+        synchronized (this) {
+            waiter = new Waiter(world, priority, sequence++, System.nanoTime(), start);
+            if (fits(world, chunks)) {
+                reserve(world, chunks);
+            } else {
+                queue.add(waiter);
+                position = queue.headSet(waiter).size() + 1;
+            }
+        }
+
+        if (position == 0) {
+            metrics.recordQueueWait(waiter.queuedAt());
+            waiter.start().accept(chunks);
+        } else {
+            Waiter queued = waiter;
+            result.whenComplete((value, error) -> {
+                if (result.isCancelled()) {
+                    withdraw(queued);
+                }
+            });
+            if (RtpLog.isDebug()) {
+                RtpLog.debug("Search queued in %s at position %d", world, position);
+            }
+            onQueued.accept(position);
+        }
+        return result;
+    }
+
+    /**
+     * Run a search only if it can start right away and nobody is waiting; for
+     * background work that should never hold up players.
+     *
+     * @return the search future, or null if it was not started
+     */
+    public <T> CompletableFuture<T> trySubmit(String world, Supplier<CompletableFuture<T>> search) {
+        int chunks = searcher.getChunkRequestsPerSearch();
+        synchronized (this) {
+            if (!queue.isEmpty() || !fits(world, chunks)) {
+                return null;
+            }
+            reserve(world, chunks);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        run(world, chunks, search, result);
+        return result;
+    }
+
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    /**
+     * Start an admitted search.
+     *
+     * @param reserved chunk requests reserved for it, given back when it ends
+     */
+    private <T> void run(String world, int reserved, Supplier<CompletableFuture<T>> search,
+            CompletableFuture<T> result) {
+        if (result.isDone()) {
+            // Cancelled while it was being admitted
+            release(world, reserved);
+            return;
+        }
+        CompletableFuture<T> future;
+        try {
+            future = search.get();
+        } catch (Exception e) {
+            release(world, reserved);
+            result.completeExceptionally(e);
+            return;
+        }
+        ActiveSearches.cancelWith(result, future);
+        future.whenComplete((value, error) -> {
+            release(world, reserved);
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void release(String world, int reserved) {
+        List<Waiter> admitted = null;
+        int chunks = searcher.getChunkRequestsPerSearch();
+        synchronized (this) {
+            running--;
+            chunkRequests -= reserved;
+            runningPerWorld.computeIfPresent(world, (w, count) -> count > 1 ? count - 1 : null);
+
+            // Start every waiter that now fits, in queue order. Waiters blocked
+            // only by their own world's limit do not hold up other worlds.
+            Iterator<Waiter> it = queue.iterator();
+            while (it.hasNext() && running < config.getAdmissionMaxSearches()) {
+                Waiter waiter = it.next();
+                if (fits(waiter.world(), chunks)) {
+                    it.remove();
+                    reserve(waiter.world(), chunks);
+                    if (admitted == null) {
+                        admitted = new ArrayList<>();
+                    }
+                    admitted.add(waiter);
+                }
+            }
+        }
+
+        if (admitted != null) {
+            for (Waiter waiter : admitted) {
+                metrics.recordQueueWait(waiter.queuedAt());
+                waiter.start().accept(chunks);
+            }
+        }
+    }
+
+    private synchronized void withdraw(Waiter waiter) {
+        queue.remove(waiter);
+    }
+
+    private boolean fits(String world, int chunks) {
+        // A single search is always allowed, even if it alone exceeds the chunk limit
+        int maxChunks = Math.max(config.getAdmissionMaxChunkRequests(), chunks);
+        return running < config.getAdmissionMaxSearches()
+                && runningPerWorld.getOrDefault(world, 0) < health.scale(world, config.getAdmissionMaxSearchesPerWorld())
+                && chunkRequests + chunks <= maxChunks;
+    }
+
+    private void reserve(String world, int chunks) {
+        running++;
+        chunkRequests += chunks;
+        runningPerWorld.merge(world, 1, Integer::sum);
+    }
+
+    private record Waiter(String world, int priority, long sequence, long queuedAt, IntConsumer start) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.vorlas.randomteleport.search;
+
+/**
+ * Distance band around spawn and height range a search is allowed to use.
+ * Two tiers with the same values share the same bounds (and the same pool).
+ */
+public record SearchBounds(int minDistance, int maxDistance, int minHeight, int maxHeight) {
+}
@@ -0,0 +1,25 @@
+package com.vorlas.randomteleport.search;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * The chunk loading and threading the search needs from a world.
+ *
+ * {@link #execute(Runnable)} runs a task on the thread that owns the terrain
+ * (the world thread for a server world); chunk reads happen only there.
+ * {@link WorldTerrainAccess} adapts a server world, {@link ProceduralTerrain}
+ * is an in-memory stand-in for load tests and benchmarks.
+ */
+public interface TerrainAccess extends Executor {
+
+    String getName();
+
+    /**
+     * Load or generate a chunk.
+     *
+     * @param chunkIndex index from {@link LocationSearcher#chunkIndex(int, int)}
+     * @return future completed with the chunk, or with null if it has no data yet
+     */
+    CompletableFuture<ChunkView> getChunkAsync(long chunkIndex);
+}
@@ -0,0 +1,227 @@
+package com.vorlas.randomteleport.search;
+
+import com.vorlas.randomteleport.utils.RtpLog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Remembers chunks where a search found no safe spot, so later candidates
+ * landing there are re-rolled before any chunk is requested.
+ *
+ * Each world has a fixed-size Bloom filter keyed by chunk and height band.
+ * Entries decay by generation: marks go into the current filter, lookups check
+ * the current and the previous one, and every decay period the current filter
+ * becomes the previous one. A false positive only costs a re-roll. The filters
+ * are saved to unsafe-regions.dat so they survive restarts.
+ */
+public class UnsafeRegionCache {
+
+    private static final String FILE_NAME = "unsafe-regions.dat";
+    private static final int MAGIC = 0x52545055; // "RTPU"
+    private static final int VERSION = 1;
+    private static final int BITS = 1 << 18; // 32 KB per generation
+    private static final int WORDS = BITS / 64;
+    private static final int HASHES = 3;
+
+    private final Path file;
+    private final long decayMs;
+    private final Map<String, Filter> worlds = new ConcurrentHashMap<>();
+
+    /**
+     * @param decayMinutes how long a mark lasts, between one and two periods;
+     *                     0 disables the cache
+     */
+    public UnsafeRegionCache(Path dataDirectory, int decayMinutes) {
+        this.file = dataDirectory.resolve(FILE_NAME);
+        this.decayMs = decayMinutes * 60_000L;
+    }
+
+    public boolean isEnabled() {
+        return decayMs > 0;
+    }
+
+    /**
+     * @return true if the chunk was recently marked unsafe for this height band
+     */
+    public boolean isUnsafe(String world, int chunkX, int chunkZ, SearchBounds bounds) {
+        if (!isEnabled()) {
+            return false;
+        }
+        Filter filter = worlds.get(world);
+        if (filter == null) {
+            return false;
+        }
+        Generation generation = filter.current(decayMs);
+        long hash = hash(chunkX, chunkZ, bounds);
+        return contains(generation.current, hash) || contains(generation.previous, hash);
+    }
+
+    public void markUnsafe(String world, int chunkX, int chunkZ, SearchBounds bounds) {
+        if (!isEnabled()) {
+            return;
+        }
+        Generation generation = worlds.computeIfAbsent(world, w -> new Filter()).current(decayMs);
+        long hash = hash(chunkX, chunkZ, bounds);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = bit(hash, i);
+            generation.current.getAndAccumulate(bit >>> 6, 1L << bit, (a, b) -> a | b);
+        }
+    }
+
+    /**
+     * Load the saved filters, dropping generations that have already expired.
+     */
+    public void load() {
+        if (!isEnabled() || !Files.exists(file)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != BITS) {
+                return;
+            }
+            int count = in.readInt();
+            for (int w = 0; w < count; w++) {
+                String world = in.readUTF();
+                long startedAt = in.readLong();
+                AtomicLongArray current = readWords(in);
+                AtomicLongArray previous = readWords(in);
+
+                long age = now - startedAt;
+                if (age >= 2 * decayMs) {
+                    continue;
+                }
+                Generation generation = age >= decayMs
+                        ? new Generation(new AtomicLongArray(WORDS), current, startedAt + decayMs)
+                        : new Generation(current, previous, startedAt);
+                worlds.put(world, new Filter(generation));
+            }
+        } catch (IOException e) {
+            RtpLog.warn("Could not read unsafe region cache", e);
+        }
+    }
+
+    /**
+     * Write all filters, replacing the previous file atomically.
+     */
+    public void save() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(FILE_NAME + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(BITS);
+                Map<String, Generation> snapshot = new HashMap<>();
+                worlds.forEach((world, filter) -> snapshot.put(world, filter.current(decayMs)));
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, Generation> entry : snapshot.entrySet()) {
+                    Generation generation = entry.getValue();
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(generation.startedAt);
+                    writeWords(out, generation.current);
+                    writeWords(out, generation.previous);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            RtpLog.warn("Could not save unsafe region cache", e);
+        }
+    }
+
+    private static boolean contains(AtomicLongArray words, long hash) {
+        for (int i = 0; i < HASHES; i++) {
+            int bit = bit(hash, i);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(int chunkX, int chunkZ, SearchBounds bounds) {
+        long h = ((long) chunkX << 32) ^ (chunkZ & 0xFFFFFFFFL);
+        h ^= ((long) bounds.minHeight() << 48) ^ ((long) bounds.maxHeight() << 20);
+        h *= 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * i-th probe position, by double hashing the two halves of the hash.
+     */
+    private static int bit(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + i * h2) & (BITS - 1);
+    }
+
+    private static AtomicLongArray readWords(DataInputStream in) throws IOException {
+        AtomicLongArray words = new AtomicLongArray(WORDS);
+        for (int i = 0; i < WORDS; i++) {
+            words.set(i, in.readLong());
+        }
+        return words;
+    }
+
+    private static void writeWords(DataOutputStream out, AtomicLongArray words) throws IOException {
+        for (int i = 0; i < WORDS; i++) {
+            out.writeLong(words.get(i));
+        }
+    }
+
+    private record Generation(AtomicLongArray current, AtomicLongArray previous, long startedAt) {
+    }
+
+    /**
+     * One world's filter pair, rotated lazily when it is accessed after the
+     * decay period.
+     */
+    private static final class Filter {
+        private volatile Generation generation;
+
+        Filter() {
+            this(new Generation(new AtomicLongArray(WORDS), new AtomicLongArray(WORDS), System.currentTimeMillis()));
+        }
+
+        Filter(Generation generation) {
+            this.generation = generation;
+        }
+
+        Generation current(long decayMs) {
+            Generation current = generation;
+            long now = System.currentTimeMillis();
+            if (now - current.startedAt < decayMs) {
+                return current;
+            }
+            synchronized (this) {
+                current = generation;
+                long age = now - current.startedAt;
+                if (age >= 2 * decayMs) {
+                    generation = new Generation(new AtomicLongArray(WORDS), new AtomicLongArray(WORDS), now);
+                } else if (age >= decayMs) {
+                    // The new period starts where the old one ended, not at the
+                    // first access after it, so no mark outlives two periods
+                    generation = new Generation(new AtomicLongArray(WORDS), current.current,
+                            current.startedAt + decayMs);
+                }
+                return generation;
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.vorlas.randomteleport.search;
+
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+
+/**
+ * {@link ChunkView} over a server chunk.
+ */
+record WorldChunkView(WorldChunk chunk) implements ChunkView {
+
+    @Override
+    public int getBlock(int localX, int y, int localZ) {
+        return chunk.getBlock(localX, y, localZ);
+    }
+
+    @Override
+    public int getFluidId(int localX, int y, int localZ) {
+        return chunk.getFluidId(localX, y, localZ);
+    }
+}
@@ -0,0 +1,133 @@
+package com.vorlas.randomteleport.search;
+
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * How busy each world is, as seen from the plugin.
+ *
+ * Two signals are tracked per world as moving averages: the lag of a probe
+ * task posted to the world thread beyond one tick (how long queued world
+ * work waits, which grows with tick overrun) and the time chunk requests
+ * take (how far behind loading and generation are). The chunk signal decays
+ * toward 0 on every probe that saw no new chunk load, so a few slow loads of
+ * fresh terrain do not keep the world marked busy once searches stop. Each
+ * is scaled against its health.busy* threshold and the worse one is the
+ * world's load, from 0 (idle) to 1 (busy). The searcher, the admission queue and the pool use it to narrow
+ * or pause their work; only worlds the plugin has searched in are probed.
+ */
+public class WorldHealth {
+
+    private static final double ALPHA = 0.3;
+    // A task posted to an idle world can still wait for the next tick
+    private static final long TICK_MS = 50;
+
+    private final RandomTeleportConfig config;
+    private final Map<String, State> worlds = new ConcurrentHashMap<>();
+
+    public WorldHealth(RandomTeleportConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Start (or keep) probing the world.
+     */
+    public void track(TerrainAccess terrain) {
+        if (config.isHealthEnabled()) {
+            worlds.computeIfAbsent(terrain.getName(), w -> new State()).terrain = terrain;
+        }
+    }
+
+    /**
+     * Post a probe task to every tracked world that has none outstanding.
+     * Called every health.probeIntervalMs.
+     */
+    public void probe() {
+        for (Map.Entry<String, State> entry : worlds.entrySet()) {
+            State state = entry.getValue();
+            if (!state.chunkSampled) {
+                state.chunkMs = average(state.chunkMs, 0);
+            }
+            state.chunkSampled = false;
+            if (state.probeSentAt != 0) {
+                continue;
+            }
+            long sentAt = System.nanoTime();
+            state.probeSentAt = sentAt;
+            try {
+                state.terrain.execute(() -> {
+                    state.lagMs = average(state.lagMs, lagMs(sentAt));
+                    state.probeSentAt = 0;
+                });
+            } catch (Exception e) {
+                // World is gone
+                worlds.remove(entry.getKey(), state);
+            }
+        }
+    }
+
+    /**
+     * Record how long one round of chunk requests took, from request to the
+     * last chunk arriving; retry backoff is not part of it.
+     */
+    void recordChunkLoad(String world, long startNanos) {
+        State state = worlds.get(world);
+        if (state != null) {
+            state.chunkMs = average(state.chunkMs, (System.nanoTime() - startNanos) / 1_000_000.0);
+            state.chunkSampled = true;
+        }
+    }
+
+    /**
+     * @return load from 0 (idle) to 1 (busy); always 0 when health tracking
+     *         is off or the world has not been probed yet
+     */
+    public double load(String world) {
+        State state = worlds.get(world);
+        if (state == null || !config.isHealthEnabled()) {
+            return 0;
+        }
+        double lagMs = state.lagMs;
+        long sentAt = state.probeSentAt;
+        if (sentAt != 0) {
+            // A probe that is still waiting counts for as long as it has waited
+            lagMs = Math.max(lagMs, lagMs(sentAt));
+        }
+        double tickLoad = lagMs / config.getHealthBusyTickLagMs();
+        double chunkLoad = state.chunkMs / config.getHealthBusyChunkLoadMs();
+        return Math.min(1, Math.max(tickLoad, chunkLoad));
+    }
+
+    public boolean isBusy(String world) {
+        return load(world) >= 1;
+    }
+
+    /**
+     * Scale a limit down with the world's load, never below 1.
+     */
+    public int scale(String world, int limit) {
+        return Math.max(1, (int) Math.round(limit * (1 - load(world))));
+    }
+
+    /**
+     * Time a probe sent at the given time has waited, less the one tick any
+     * world task may wait.
+     */
+    private static double lagMs(long sentAt) {
+        return Math.max(0, (System.nanoTime() - sentAt) / 1_000_000.0 - TICK_MS);
+    }
+
+    private static double average(double current, double sample) {
+        return current + ALPHA * (sample - current);
+    }
+
+    private static class State {
+        volatile TerrainAccess terrain;
+        volatile long probeSentAt;
+        volatile double lagMs;
+        volatile double chunkMs;
+        volatile boolean chunkSampled;
+    }
+}
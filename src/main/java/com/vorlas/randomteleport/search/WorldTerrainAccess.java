@@ -0,0 +1,26 @@
+package com.vorlas.randomteleport.search;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link TerrainAccess} over a server world.
+ */
+public record WorldTerrainAccess(World world) implements TerrainAccess {
+
+    @Override
+    public String getName() {
+        return world.getName();
+    }
+
+    @Override
+    public CompletableFuture<ChunkView> getChunkAsync(long chunkIndex) {
+        return world.getChunkAsync(chunkIndex).thenApply(chunk -> chunk != null ? new WorldChunkView(chunk) : null);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        world.execute(task);
+    }
+}
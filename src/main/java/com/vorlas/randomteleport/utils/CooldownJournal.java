@@ -0,0 +1,224 @@
+package com.vorlas.randomteleport.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only journal that keeps cooldowns across restarts.
+ *
+ * Each teleport appends a fixed 24-byte record (UUID bits + timestamp) to
+ * cooldowns.dat in the plugin data directory. Appends are handed to a serial
+ * executor on the plugin scheduler's virtual threads, so the teleport path
+ * never waits on disk. On startup the
+ * file is read in a single pass, replayed into the {@link CooldownStore} and
+ * compacted down to the entries that are still active.
+ */
+public class CooldownJournal {
+
+    private static final String FILE_NAME = "cooldowns.dat";
+    private static final int MAGIC = 0x52545043; // "RTPC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 24;
+    private static final int COMPACT_MIN_RECORDS = 4096;
+
+    private final Path file;
+    private final CooldownStore store;
+    private final RtpScheduler scheduler;
+    private final Executor writer;
+
+    // Only touched by writer tasks, which run one at a time (or before any starts)
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private FileChannel channel;
+    private int records;
+    private int liveAfterCompact;
+
+    public CooldownJournal(Path dataDirectory, CooldownStore store, RtpScheduler scheduler) {
+        this.file = dataDirectory.resolve(FILE_NAME);
+        this.store = store;
+        this.scheduler = scheduler;
+        this.writer = scheduler.serial();
+    }
+
+    /**
+     * Replay the journal into the store and compact it. Called once on startup,
+     * before any teleport can happen.
+     */
+    public void load() {
+        long now = System.currentTimeMillis();
+        int replayed = 0;
+
+        if (Files.exists(file)) {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                // Read in one go rather than mapping, so the file is not left
+                // locked on Windows when compaction replaces it
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(in.size(), Integer.MAX_VALUE));
+                int read = 0;
+                while (buffer.hasRemaining() && read >= 0) {
+                    read = in.read(buffer);
+                }
+                buffer.flip();
+                if (buffer.remaining() >= HEADER_SIZE && buffer.getInt() == MAGIC && buffer.getInt() == VERSION) {
+                    // A torn record at the end (crash mid-append) is ignored
+                    replayed = buffer.remaining() / RECORD_SIZE;
+                    long[] entries = new long[replayed * 3];
+                    buffer.asLongBuffer().get(entries);
+                    store.restoreAll(entries, replayed, now);
+                }
+            } catch (IOException e) {
+                RtpLog.warn("Could not read cooldown journal", e);
+            }
+        }
+
+        try {
+            compact(now);
+        } catch (IOException e) {
+            RtpLog.warn("Could not compact cooldown journal", e);
+        }
+        RtpLog.info("Restored " + store.size() + " cooldowns from " + replayed + " journal records in "
+                + (System.currentTimeMillis() - now) + "ms");
+    }
+
+    /**
+     * Record a teleport. Returns immediately; the write happens in the
+     * background.
+     */
+    public void append(UUID playerId, long timestamp) {
+        long mostBits = playerId.getMostSignificantBits();
+        long leastBits = playerId.getLeastSignificantBits();
+        try {
+            writer.execute(() -> write(mostBits, leastBits, timestamp));
+        } catch (Exception ignored) {
+            // Journal already shut down
+        }
+    }
+
+    /**
+     * Finish pending writes and close the file. Must run before the scheduler
+     * shuts down.
+     */
+    public void shutdown() {
+        if (scheduler.isShutdown()) {
+            closeChannel();
+            return;
+        }
+        CompletableFuture<Void> closed = new CompletableFuture<>();
+        writer.execute(() -> {
+            closeChannel();
+            closed.complete(null);
+        });
+        try {
+            closed.get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            RtpLog.warn("Cooldown journal did not close cleanly", e);
+        }
+    }
+
+    private void write(long mostBits, long leastBits, long timestamp) {
+        try {
+            if (channel == null) {
+                return;
+            }
+            record.clear();
+            record.putLong(mostBits).putLong(leastBits).putLong(timestamp).flip();
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            records++;
+
+            if (records > COMPACT_MIN_RECORDS && records > liveAfterCompact * 2) {
+                compact(System.currentTimeMillis());
+            }
+        } catch (IOException e) {
+            RtpLog.warn("Could not write cooldown journal", e);
+        }
+    }
+
+    /**
+     * Rewrite the journal with only the entries that are still active, then
+     * atomically replace the old file. If that fails the existing file is
+     * reopened, so later appends still reach disk.
+     */
+    private void compact(long now) throws IOException {
+        long[] entries = store.snapshot(now);
+        Path tmp = file.resolveSibling(FILE_NAME + ".tmp");
+
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + (entries.length / 3) * RECORD_SIZE);
+                buffer.putInt(MAGIC).putInt(VERSION);
+                for (long value : entries) {
+                    buffer.putLong(value);
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                out.force(true);
+            }
+
+            closeChannel();
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            reopen();
+            throw e;
+        }
+        records = entries.length / 3;
+        liveAfterCompact = records;
+    }
+
+    /**
+     * Keep appending to the existing journal after a failed compaction. A
+     * missing or empty file gets a fresh header and a torn record at the end
+     * is cut off, so new records stay aligned. The next compaction is tried
+     * once the journal has doubled again.
+     */
+    private void reopen() {
+        closeChannel();
+        try {
+            FileChannel reopened = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            long size = reopened.size();
+            if (size < HEADER_SIZE) {
+                reopened.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+                while (header.hasRemaining()) {
+                    reopened.write(header);
+                }
+                size = HEADER_SIZE;
+            } else {
+                size -= (size - HEADER_SIZE) % RECORD_SIZE;
+                reopened.truncate(size);
+            }
+            channel = reopened;
+            records = (int) ((size - HEADER_SIZE) / RECORD_SIZE);
+            liveAfterCompact = records;
+        } catch (IOException e) {
+            RtpLog.warn("Could not reopen cooldown journal", e);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.vorlas.randomteleport.utils;
+
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread-safe store of the last /rtp time per player.
+ *
+ * UUIDs are kept as two longs in an open-addressing table, so lookups do not
+ * allocate and use an optimistic read that never blocks. Entries older than
+ * the longest configured cooldown can no longer affect anyone and are swept
+ * out periodically, keeping memory proportional to active cooldowns.
+ */
+public class CooldownStore {
+
+    private static final int MIN_CAPACITY = 64;
+    private static final long SWEEP_INTERVAL_MS = 60_000L;
+
+    private final StampedLock lock = new StampedLock();
+    private final RandomTeleportConfig config;
+
+    private Table table = new Table(MIN_CAPACITY);
+    private int size;
+    private long lastSweep;
+
+    public CooldownStore(RandomTeleportConfig config) {
+        this.config = config;
+        this.lastSweep = System.currentTimeMillis();
+    }
+
+    /**
+     * Get the time remaining on a player's cooldown.
+     *
+     * @return remaining milliseconds, or 0 if the player is not on cooldown
+     */
+    public long getRemainingMs(UUID playerId, long cooldownMs, long now) {
+        long lastUsed = getLastUsed(playerId);
+        if (lastUsed == 0) {
+            return 0;
+        }
+        return Math.max(0, cooldownMs - (now - lastUsed));
+    }
+
+    /**
+     * @return the time of the player's last teleport, or 0 if none is stored
+     */
+    public long getLastUsed(UUID playerId) {
+        long msb = playerId.getMostSignificantBits();
+        long lsb = playerId.getLeastSignificantBits();
+
+        long stamp = lock.tryOptimisticRead();
+        long result = find(msb, lsb);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                result = find(msb, lsb);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Record a teleport for the player. Expired entries are swept out at most
+     * once per minute as part of a write.
+     */
+    public void put(UUID playerId, long timestamp) {
+        long stamp = lock.writeLock();
+        try {
+            if (timestamp - lastSweep >= SWEEP_INTERVAL_MS) {
+                sweep(timestamp);
+            }
+            if ((size + 1) * 4 > table.times.length * 3) {
+                rehash(table.times.length * 2, 0);
+            }
+            insert(playerId.getMostSignificantBits(), playerId.getLeastSignificantBits(), timestamp);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Bulk-load entries, e.g. when replaying the journal on startup. Later
+     * entries for the same player win; entries that have already expired are
+     * ignored. The table is sized once up front.
+     *
+     * @param entries {mostBits, leastBits, time} triples packed into one array
+     */
+    public void restoreAll(long[] entries, int count, long now) {
+        long cutoff = now - getMaxCooldownMs();
+        long stamp = lock.writeLock();
+        try {
+            int capacity = table.times.length;
+            while ((size + count) * 4 > capacity * 3) {
+                capacity <<= 1;
+            }
+            if (capacity != table.times.length) {
+                rehash(capacity, 0);
+            }
+            for (int i = 0; i < count * 3; i += 3) {
+                if (entries[i + 2] > cutoff) {
+                    insert(entries[i], entries[i + 1], entries[i + 2]);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copy out every entry that has not expired yet.
+     *
+     * @return {mostBits, leastBits, time} triples packed into one array
+     */
+    public long[] snapshot(long now) {
+        long cutoff = now - getMaxCooldownMs();
+        long stamp = lock.readLock();
+        try {
+            Table t = table;
+            long[] entries = new long[size * 3];
+            int n = 0;
+            for (int i = 0; i < t.times.length; i++) {
+                if (t.times[i] != 0 && t.times[i] > cutoff) {
+                    entries[n++] = t.mostBits[i];
+                    entries[n++] = t.leastBits[i];
+                    entries[n++] = t.times[i];
+                }
+            }
+            return n == entries.length ? entries : Arrays.copyOf(entries, n);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private long find(long msb, long lsb) {
+        Table t = table;
+        int mask = t.times.length - 1;
+        int slot = hash(msb, lsb) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            long time = t.times[slot];
+            if (time == 0) {
+                return 0;
+            }
+            if (t.mostBits[slot] == msb && t.leastBits[slot] == lsb) {
+                return time;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    private void insert(long msb, long lsb, long timestamp) {
+        Table t = table;
+        int mask = t.times.length - 1;
+        int slot = hash(msb, lsb) & mask;
+        while (t.times[slot] != 0) {
+            if (t.mostBits[slot] == msb && t.leastBits[slot] == lsb) {
+                t.times[slot] = timestamp;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        t.mostBits[slot] = msb;
+        t.leastBits[slot] = lsb;
+        t.times[slot] = timestamp;
+        size++;
+    }
+
+    /**
+     * Drop every entry older than the longest cooldown and shrink the table
+     * if most of it is now empty.
+     */
+    private void sweep(long now) {
+        long cutoff = now - getMaxCooldownMs();
+        int live = 0;
+        for (long time : table.times) {
+            if (time != 0 && time > cutoff) {
+                live++;
+            }
+        }
+        int capacity = MIN_CAPACITY;
+        while (live * 4 > capacity * 3 / 2) {
+            capacity <<= 1;
+        }
+        rehash(capacity, cutoff);
+        lastSweep = now;
+    }
+
+    private void rehash(int capacity, long cutoff) {
+        Table old = table;
+        table = new Table(capacity);
+        size = 0;
+        for (int i = 0; i < old.times.length; i++) {
+            if (old.times[i] != 0 && old.times[i] > cutoff) {
+                insert(old.mostBits[i], old.leastBits[i], old.times[i]);
+            }
+        }
+    }
+
+    private long getMaxCooldownMs() {
+        return config.getMaxCooldownSeconds() * 1000L;
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = msb ^ (lsb * 0x9E3779B97F4A7C15L);
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * Parallel arrays swapped as one unit so an optimistic reader never sees
+     * arrays of different sizes. Slot i is empty when times[i] == 0.
+     */
+    private static class Table {
+        final long[] mostBits;
+        final long[] leastBits;
+        final long[] times;
+
+        Table(int capacity) {
+            this.mostBits = new long[capacity];
+            this.leastBits = new long[capacity];
+            this.times = new long[capacity];
+        }
+    }
+}
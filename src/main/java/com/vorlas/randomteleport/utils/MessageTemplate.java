@@ -0,0 +1,174 @@
+package com.vorlas.randomteleport.utils;
+
+import com.hypixel.hytale.server.core.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A message string with &-color codes and {placeholder} slots, parsed once.
+ *
+ * The text is split into colored runs, each made of literal parts and slot
+ * references. Templates without placeholders keep a cached {@link Message};
+ * the others are rendered in a single pass over the runs. An empty template
+ * sends nothing, so a message can be switched off by setting it to "".
+ */
+public final class MessageTemplate {
+
+    private static final String DEFAULT_COLOR = "#FFFFFF";
+
+    private final Run[] runs;
+    private final int slotCount;
+    private final Message cached;
+
+    private MessageTemplate(Run[] runs, int slotCount) {
+        this.runs = runs;
+        this.slotCount = slotCount;
+        this.cached = slotCount == 0 ? build(runs, null) : null;
+    }
+
+    /**
+     * Compile a template.
+     *
+     * @param text         message text, e.g. "&bTeleporting in &e{seconds} &bseconds"
+     * @param placeholders placeholder names, in the order values are passed to
+     *                     {@link #render(String...)}
+     */
+    public static MessageTemplate compile(String text, String... placeholders) {
+        if (text == null || text.isEmpty()) {
+            return new MessageTemplate(new Run[0], 0);
+        }
+
+        List<Run> runs = new ArrayList<>();
+        List<Object> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        String color = DEFAULT_COLOR;
+        int usedSlots = 0;
+        int length = text.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (c == '&' && i + 1 < length && Character.digit(text.charAt(i + 1), 16) >= 0) {
+                flushLiteral(literal, parts);
+                if (!parts.isEmpty()) {
+                    runs.add(new Run(color, parts.toArray()));
+                    parts.clear();
+                }
+                color = MessageUtil.resolveColor(text.charAt(i + 1));
+                i++;
+                continue;
+            }
+
+            if (c == '{') {
+                int end = text.indexOf('}', i + 1);
+                int slot = end > 0 ? indexOf(placeholders, text, i + 1, end) : -1;
+                if (slot >= 0) {
+                    flushLiteral(literal, parts);
+                    parts.add(slot);
+                    usedSlots = Math.max(usedSlots, slot + 1);
+                    i = end;
+                    continue;
+                }
+            }
+
+            literal.append(c);
+        }
+
+        flushLiteral(literal, parts);
+        if (!parts.isEmpty()) {
+            runs.add(new Run(color, parts.toArray()));
+        }
+        return new MessageTemplate(runs.toArray(new Run[0]), usedSlots);
+    }
+
+    /**
+     * @return the cached message if this template has no placeholders
+     */
+    public Message message() {
+        return cached != null ? cached : build(runs, new String[0]);
+    }
+
+    /**
+     * Render the template, substituting placeholder values in the order given
+     * to {@link #compile(String, String...)}.
+     */
+    public Message render(String... values) {
+        if (cached != null) {
+            return cached;
+        }
+        return build(runs, values);
+    }
+
+    /**
+     * Render the template and hand it to {@code receiver}, e.g.
+     * {@code player::sendMessage}; an empty template is not sent at all.
+     */
+    public void send(Consumer<Message> receiver, String... values) {
+        if (!isEmpty()) {
+            receiver.accept(render(values));
+        }
+    }
+
+    public boolean isEmpty() {
+        return runs.length == 0;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    private static Message build(Run[] runs, String[] values) {
+        if (runs.length == 0) {
+            return Message.raw("");
+        }
+        if (runs.length == 1) {
+            return runs[0].render(values);
+        }
+        Message[] segments = new Message[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            segments[i] = runs[i].render(values);
+        }
+        return Message.join(segments);
+    }
+
+    private static void flushLiteral(StringBuilder literal, List<Object> parts) {
+        if (literal.length() > 0) {
+            parts.add(literal.toString());
+            literal.setLength(0);
+        }
+    }
+
+    private static int indexOf(String[] placeholders, String text, int start, int end) {
+        for (int i = 0; i < placeholders.length; i++) {
+            String name = placeholders[i];
+            if (name.length() == end - start && text.regionMatches(start, name, 0, name.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A run of text in one color: literal Strings and Integer slot indices.
+     */
+    private record Run(String color, Object[] parts) {
+
+        Message render(String[] values) {
+            if (parts.length == 1 && parts[0] instanceof String text) {
+                return Message.raw(text).color(color);
+            }
+            StringBuilder sb = new StringBuilder();
+            for (Object part : parts) {
+                if (part instanceof String text) {
+                    sb.append(text);
+                } else {
+                    int slot = (Integer) part;
+                    sb.append(values != null && slot < values.length ? values[slot] : "");
+                }
+            }
+            return Message.raw(sb.toString()).color(color);
+        }
+    }
+}
@@ -1,10 +1,6 @@
 package com.vorlas.randomteleport.utils;
 
 import com.hypixel.hytale.server.core.Message;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Utility class for parsing color codes in messages.
@@ -20,63 +16,59 @@ public final class MessageUtil {
      * Codes: &0=black, &1=dark blue, &2=green, &3=cyan, &4=red, &5=purple,
      *        &6=gold, &7=gray, &8=dark gray, &9=blue, &a=green, &b=aqua,
      *        &c=red, &d=pink, &e=yellow, &f=white
+     * Messages sent repeatedly should use a precompiled {@link MessageTemplate}.
      */
     public static Message parseColored(String text) {
-        if (text == null || text.isEmpty()) {
-            return Message.raw("");
-        }
-
-        Pattern pattern = Pattern.compile("&([0-9a-fA-F])");
-        Matcher matcher = pattern.matcher(text);
-        List<Message> segments = new ArrayList<>();
-        String currentColor = "#FFFFFF";
-        int lastEnd = 0;
+        return MessageTemplate.compile(text).message();
+    }
 
-        while (matcher.find()) {
-            if (matcher.start() > lastEnd) {
-                String segment = text.substring(lastEnd, matcher.start());
-                if (!segment.isEmpty()) {
-                    segments.add(Message.raw(segment).color(currentColor));
-                }
-            }
-            currentColor = resolveColor(matcher.group(1));
-            lastEnd = matcher.end();
-        }
+    /**
+     * Format a coordinate or distance as a whole number (like "%.0f" without
+     * going through the Formatter).
+     */
+    public static String formatWhole(double value) {
+        long rounded = Math.round(Math.abs(value));
+        return value < 0 && rounded != 0 ? "-" + rounded : Long.toString(rounded);
+    }
 
-        if (lastEnd < text.length()) {
-            String segment = text.substring(lastEnd);
-            if (!segment.isEmpty()) {
-                segments.add(Message.raw(segment).color(currentColor));
-            }
-        }
+    /**
+     * Format a duration for messages, e.g. "1 hour 5 minutes" or "42 seconds".
+     */
+    public static String formatTime(long milliseconds) {
+        long seconds = milliseconds / 1000;
+        long minutes = seconds / 60;
+        long hours = minutes / 60;
+        minutes = minutes % 60;
+        seconds = seconds % 60;
 
-        if (segments.isEmpty()) {
-            return Message.raw(text).color("#FFFFFF");
-        } else if (segments.size() == 1) {
-            return segments.get(0);
+        if (hours > 0) {
+            return hours + " hour" + (hours == 1 ? "" : "s") + " " + minutes + " minute" + (minutes == 1 ? "" : "s");
+        } else if (minutes > 0) {
+            return minutes + " minute" + (minutes == 1 ? "" : "s") + " " + seconds + " second"
+                    + (seconds == 1 ? "" : "s");
         } else {
-            return Message.join(segments.toArray(new Message[0]));
+            return seconds + " second" + (seconds == 1 ? "" : "s");
         }
     }
 
-    private static String resolveColor(String code) {
-        return switch (code.toLowerCase()) {
-            case "0" -> "#000000"; // Black
-            case "1" -> "#0000AA"; // Dark Blue
-            case "2" -> "#00AA00"; // Dark Green
-            case "3" -> "#00AAAA"; // Dark Aqua
-            case "4" -> "#AA0000"; // Dark Red
-            case "5" -> "#AA00AA"; // Purple
-            case "6" -> "#FFAA00"; // Gold
-            case "7" -> "#AAAAAA"; // Gray
-            case "8" -> "#555555"; // Dark Gray
-            case "9" -> "#5555FF"; // Blue
-            case "a" -> "#55FF55"; // Green
-            case "b" -> "#55FFFF"; // Aqua
-            case "c" -> "#FF5555"; // Red
-            case "d" -> "#FF55FF"; // Pink
-            case "e" -> "#FFFF55"; // Yellow
-            case "f" -> "#FFFFFF"; // White
+    static String resolveColor(char code) {
+        return switch (Character.toLowerCase(code)) {
+            case '0' -> "#000000"; // Black
+            case '1' -> "#0000AA"; // Dark Blue
+            case '2' -> "#00AA00"; // Dark Green
+            case '3' -> "#00AAAA"; // Dark Aqua
+            case '4' -> "#AA0000"; // Dark Red
+            case '5' -> "#AA00AA"; // Purple
+            case '6' -> "#FFAA00"; // Gold
+            case '7' -> "#AAAAAA"; // Gray
+            case '8' -> "#555555"; // Dark Gray
+            case '9' -> "#5555FF"; // Blue
+            case 'a' -> "#55FF55"; // Green
+            case 'b' -> "#55FFFF"; // Aqua
+            case 'c' -> "#FF5555"; // Red
+            case 'd' -> "#FF55FF"; // Pink
+            case 'e' -> "#FFFF55"; // Yellow
+            case 'f' -> "#FFFFFF"; // White
             default -> "#FFFFFF";
         };
     }
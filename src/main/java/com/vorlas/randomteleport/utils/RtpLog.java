@@ -0,0 +1,122 @@
+package com.vorlas.randomteleport.utils;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.Level;
+
+/**
+ * Plugin-wide logging through the plugin logger.
+ *
+ * Debug output is only produced when debugMode is on, and is logged at FINE
+ * so the server's log level settings apply to it. Call sites pass a
+ * format string and arguments; when debug is off the call returns at once
+ * without building anything, and when it is on the message is formatted and
+ * written by a background virtual thread so world threads never wait on
+ * logging.
+ * Debug lines are dropped rather than queued without bound.
+ */
+public final class RtpLog {
+
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private static volatile HytaleLogger logger;
+    private static volatile boolean debug;
+    private static final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private static Thread appender;
+
+    private RtpLog() {}
+
+    public static void init(HytaleLogger pluginLogger) {
+        logger = pluginLogger;
+    }
+
+    public static void setDebug(boolean enabled) {
+        debug = enabled;
+        if (enabled) {
+            startAppender();
+        }
+    }
+
+    public static boolean isDebug() {
+        return debug;
+    }
+
+    /**
+     * Log a debug line, formatted with String.format on the appender thread.
+     */
+    public static void debug(String format, Object... args) {
+        if (!debug) {
+            return;
+        }
+        queue.offer(new Entry(format, args));
+    }
+
+    public static void info(String message) {
+        log(Level.INFO, message, null);
+    }
+
+    public static void warn(String message, Throwable cause) {
+        log(Level.WARNING, message, cause);
+    }
+
+    /**
+     * Write through the plugin logger; nothing is written before
+     * {@link #init(HytaleLogger)}.
+     */
+    private static void log(Level level, String message, Throwable cause) {
+        HytaleLogger current = logger;
+        if (current == null) {
+            return;
+        }
+        if (cause != null) {
+            current.at(level).withCause(cause).log(message);
+        } else {
+            current.at(level).log(message);
+        }
+    }
+
+    /**
+     * Stop the appender thread, writing out what is already queued.
+     */
+    public static synchronized void shutdown() {
+        debug = false;
+        if (appender != null) {
+            appender.interrupt();
+            appender = null;
+        }
+        drain();
+    }
+
+    private static synchronized void startAppender() {
+        if (appender != null) {
+            return;
+        }
+        appender = Thread.ofVirtual().name("RTP-Log").start(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    write(queue.take());
+                }
+            } catch (InterruptedException ignored) {
+            }
+        });
+    }
+
+    private static void drain() {
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            write(entry);
+        }
+    }
+
+    private static void write(Entry entry) {
+        try {
+            log(Level.FINE, String.format(entry.format, entry.args), null);
+        } catch (Exception ignored) {
+        }
+    }
+
+    private record Entry(String format, Object[] args) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.vorlas.randomteleport.utils;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The plugin's one scheduling service, created in setup and drained on
+ * shutdown.
+ *
+ * Timers (warmup ticks, pool refill, health probes) share a single daemon
+ * thread and must stay short. Anything that may block, such as file writes
+ * and metrics dumps, is offloaded to virtual threads so it never holds the
+ * timer or a world thread. {@link #serial()} gives an executor that runs its
+ * tasks one at a time, in order, on those virtual threads.
+ *
+ * One-off delays (retry backoff, pacing, timeouts) also go through the timer,
+ * via {@link #delayedExecutor} and the timeout helpers, rather than
+ * CompletableFuture's own delayer, so none of them can fire after
+ * {@link #shutdown()}.
+ */
+public class RtpScheduler {
+
+    private static final long DRAIN_SECONDS = 5;
+
+    private final ScheduledThreadPoolExecutor timer;
+    private final ExecutorService offload;
+
+    public RtpScheduler() {
+        this.timer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "RTP-Scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.offload = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("RTP-Offload-", 0).factory());
+    }
+
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return timer.scheduleAtFixedRate(guard(task), initialDelay, period, unit);
+    }
+
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long initialDelay, long delay, TimeUnit unit) {
+        return timer.scheduleWithFixedDelay(guard(task), initialDelay, delay, unit);
+    }
+
+    /**
+     * Run a short task on the timer thread once, after the delay.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException after shutdown
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return timer.schedule(guard(task), delay, unit);
+    }
+
+    /**
+     * An executor that hands each task to {@code target} (a world, or
+     * {@link #serial()}) after the delay. Tasks submitted after shutdown are
+     * rejected, and tasks still waiting at shutdown are dropped.
+     */
+    public Executor delayedExecutor(long delay, TimeUnit unit, Executor target) {
+        return task -> schedule(() -> target.execute(task), delay, unit);
+    }
+
+    /**
+     * Complete the future with {@code value} if it is still pending after the
+     * timeout. The timer entry is removed as soon as the future completes.
+     *
+     * @return the same future
+     */
+    public <T> CompletableFuture<T> completeOnTimeout(CompletableFuture<T> future, T value, long timeout,
+            TimeUnit unit) {
+        return withTimeout(future, () -> future.complete(value), timeout, unit);
+    }
+
+    private <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future, Runnable expire, long timeout,
+            TimeUnit unit) {
+        if (!future.isDone()) {
+            ScheduledFuture<?> expiry = schedule(expire, timeout, unit);
+            future.whenComplete((value, error) -> expiry.cancel(false));
+        }
+        return future;
+    }
+
+    /**
+     * Run a short task on the timer thread as soon as possible. Ignored after
+     * shutdown.
+     */
+    public void execute(Runnable task) {
+        if (!timer.isShutdown()) {
+            try {
+                timer.execute(guard(task));
+            } catch (Exception ignored) {
+                // Shut down concurrently
+            }
+        }
+    }
+
+    /**
+     * Run blocking work on a virtual thread every period; the timer thread only
+     * hands it off. Runs never overlap.
+     */
+    public ScheduledFuture<?> scheduleBlocking(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        Executor serial = serial();
+        return scheduleAtFixedRate(() -> serial.execute(task), initialDelay, period, unit);
+    }
+
+    /**
+     * Run blocking work on a virtual thread.
+     */
+    public CompletableFuture<Void> offload(Runnable task) {
+        return CompletableFuture.runAsync(guard(task), offload);
+    }
+
+    /**
+     * Compute a value on a virtual thread.
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, offload);
+    }
+
+    /**
+     * An executor that runs tasks one at a time, in submission order, on
+     * virtual threads. Tasks submitted after shutdown are dropped.
+     */
+    public Executor serial() {
+        return new SerialExecutor();
+    }
+
+    public boolean isShutdown() {
+        return timer.isShutdown();
+    }
+
+    /**
+     * Stop all timers and wait for offloaded work to finish.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+        offload.shutdown();
+        try {
+            if (!offload.awaitTermination(DRAIN_SECONDS, TimeUnit.SECONDS)) {
+                RtpLog.warn("Background tasks did not finish within " + DRAIN_SECONDS + "s", null);
+                offload.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            offload.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Keep a periodic task alive when one run throws.
+     */
+    private static Runnable guard(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                RtpLog.warn("Scheduled task failed", e);
+            }
+        };
+    }
+
+    private class SerialExecutor implements Executor {
+        // Guarded by synchronized (this)
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private boolean running;
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            tasks.add(task);
+            if (!running) {
+                running = true;
+                submitNext();
+            }
+        }
+
+        private void submitNext() {
+            try {
+                offload.execute(this::runNext);
+            } catch (Exception e) {
+                // Offload executor shut down; drop what is left
+                tasks.clear();
+                running = false;
+            }
+        }
+
+        private void runNext() {
+            Runnable task;
+            synchronized (this) {
+                task = tasks.poll();
+                if (task == null) {
+                    running = false;
+                    return;
+                }
+            }
+            try {
+                guard(task).run();
+            } finally {
+                synchronized (this) {
+                    if (tasks.isEmpty()) {
+                        running = false;
+                    } else {
+                        submitNext();
+                    }
+                }
+            }
+        }
+    }
+}
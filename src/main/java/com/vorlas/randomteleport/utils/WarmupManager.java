@@ -3,38 +3,73 @@ package com.vorlas.randomteleport.utils;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Vector3d;
-import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.vorlas.randomteleport.config.RandomTeleportConfig;
-import com.vorlas.randomteleport.utils.MessageUtil;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.*;
 
+/**
+ * Tracks players waiting out their warmup.
+ *
+ * All warmups share one tick driving a hashed timing wheel, instead of two
+ * scheduled tasks per player. On each tick the due warmups (and, every few
+ * ticks, all active ones for the movement check) are grouped by world and
+ * handled in a single world task per world.
+ *
+ * The caller may start work that the warmup gates (such as the destination
+ * search) before the countdown ends; the cancel action passed in is run when
+ * the warmup is cancelled, so that work can be stopped too.
+ */
 public class WarmupManager {
 
-    private final ScheduledExecutorService scheduler;
+    private static final long TICK_MS = 100;
+    private static final int WHEEL_SIZE = 512;
+    private static final int MOVEMENT_CHECK_TICKS = 5; // every 500 ms
+
+    private final ScheduledFuture<?> ticker;
     private final Map<UUID, WarmupData> activeWarmups = new ConcurrentHashMap<>();
     private final RandomTeleportConfig config;
 
-    public WarmupManager(RandomTeleportConfig config) {
-        this.scheduler = Executors.newScheduledThreadPool(1);
+    // Guarded by synchronized (wheel)
+    private final ArrayDeque<WarmupData>[] wheel;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public WarmupManager(RandomTeleportConfig config, RtpScheduler scheduler) {
         this.config = config;
+        this.wheel = new ArrayDeque[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.ticker = scheduler.scheduleAtFixedRate(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
     }
 
     public void shutdown() {
-        for (UUID playerId : activeWarmups.keySet()) {
-            cancelWarmup(playerId);
-        }
-        scheduler.shutdown();
+        ticker.cancel(false);
+        activeWarmups.clear();
+    }
+
+    public int getPendingCount() {
+        return activeWarmups.size();
     }
 
+    /**
+     * @param teleportAction run on the world thread once the warmup completes
+     * @param cancelAction   run if the warmup is cancelled or cannot start
+     *                       (player moved, disconnected, replaced by a new
+     *                       warmup)
+     */
     public void startWarmup(PlayerRef playerData, Ref<EntityStore> playerRef, Store<EntityStore> store,
-            World world, int warmupSeconds, Runnable teleportAction) {
+            World world, int warmupSeconds, Runnable teleportAction, Runnable cancelAction) {
 
         UUID playerId = playerData.getUuid();
         cancelWarmup(playerId);
@@ -45,93 +80,157 @@ public class WarmupManager {
         }
 
         TransformComponent transform = store.getComponent(playerRef, TransformComponent.getComponentType());
-        if (transform == null)
+        if (transform == null) {
+            cancelAction.run();
             return;
+        }
 
         Vector3d startPos = transform.getPosition();
-        String msg = config.getMessageWarmupStart().replace("{seconds}", String.valueOf(warmupSeconds));
-        playerData.sendMessage(MessageUtil.parseColored(msg));
-
-        WarmupData data = new WarmupData(playerData, playerRef, store, world,
-                startPos.x, startPos.y, startPos.z, config.getMovementThreshold());
-
-        ScheduledFuture<?> checkFuture = scheduler.scheduleAtFixedRate(() -> {
-            checkMovement(playerId, data);
-        }, 500, 500, TimeUnit.MILLISECONDS);
-
-        ScheduledFuture<?> teleportFuture = scheduler.schedule(() -> {
-            completeWarmup(playerId, teleportAction);
-        }, warmupSeconds, TimeUnit.SECONDS);
+        config.getMessages().warmupStart().send(playerData::sendMessage, String.valueOf(warmupSeconds));
 
-        data.checkFuture = checkFuture;
-        data.teleportFuture = teleportFuture;
+        double threshold = config.getMovementThreshold();
+        WarmupData data = new WarmupData(playerId, playerData, playerRef, store, world,
+                startPos.x, startPos.y, startPos.z, threshold * threshold, teleportAction, cancelAction);
         activeWarmups.put(playerId, data);
+
+        long delayTicks = Math.max(1, (warmupSeconds * 1000L + TICK_MS - 1) / TICK_MS);
+        synchronized (wheel) {
+            data.deadlineTick = currentTick + delayTicks;
+            wheel[(int) (data.deadlineTick % WHEEL_SIZE)].add(data);
+        }
     }
 
-    private void checkMovement(UUID playerId, WarmupData data) {
-        if (!activeWarmups.containsKey(playerId))
-            return;
+    public void cancelWarmup(UUID playerId) {
+        // The wheel entry is skipped lazily once it is no longer active
+        WarmupData data = activeWarmups.remove(playerId);
+        if (data != null) {
+            data.cancelAction.run();
+        }
+    }
 
+    private void tick() {
         try {
-            data.world.execute(() -> {
-                if (!activeWarmups.containsKey(playerId))
-                    return;
+            List<WarmupData> due = null;
+            long tick;
+            synchronized (wheel) {
+                tick = ++currentTick;
+                ArrayDeque<WarmupData> slot = wheel[(int) (tick % WHEEL_SIZE)];
+                int count = slot.size();
+                for (int i = 0; i < count; i++) {
+                    WarmupData data = slot.poll();
+                    if (!isActive(data)) {
+                        continue;
+                    }
+                    if (data.deadlineTick > tick) {
+                        // Not this revolution yet
+                        slot.add(data);
+                        continue;
+                    }
+                    if (due == null) {
+                        due = new ArrayList<>();
+                    }
+                    due.add(data);
+                }
+            }
+
+            boolean checkMovement = tick % MOVEMENT_CHECK_TICKS == 0 && !activeWarmups.isEmpty();
+            if (due == null && !checkMovement) {
+                return;
+            }
+
+            // Group everything by world so each world gets a single task
+            Map<World, WorldBatch> batches = new HashMap<>();
+            if (checkMovement) {
+                for (WarmupData data : activeWarmups.values()) {
+                    batches.computeIfAbsent(data.world, w -> new WorldBatch()).check.add(data);
+                }
+            }
+            if (due != null) {
+                for (WarmupData data : due) {
+                    batches.computeIfAbsent(data.world, w -> new WorldBatch()).due.add(data);
+                }
+            }
 
+            for (Map.Entry<World, WorldBatch> entry : batches.entrySet()) {
+                WorldBatch batch = entry.getValue();
                 try {
-                    TransformComponent transform = data.store.getComponent(data.playerRef,
-                            TransformComponent.getComponentType());
-                    if (transform == null)
-                        return;
-
-                    Vector3d currentPos = transform.getPosition();
-                    double dx = currentPos.x - data.startX;
-                    double dy = currentPos.y - data.startY;
-                    double dz = currentPos.z - data.startZ;
-                    double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
-
-                    if (distance > data.movementThreshold) {
-                        data.playerData.sendMessage(MessageUtil.parseColored(config.getMessageMovedCancelled()));
-                        cancelWarmup(playerId);
-                    }
+                    entry.getKey().execute(() -> processBatch(batch));
                 } catch (Exception ignored) {
                 }
-            });
+            }
         } catch (Exception ignored) {
         }
     }
 
-    private void completeWarmup(UUID playerId, Runnable teleportAction) {
-        WarmupData data = activeWarmups.remove(playerId);
-        if (data == null)
-            return;
+    /**
+     * Runs on the world thread: cancel players who moved, then complete the
+     * warmups that are due (checking their movement one last time).
+     */
+    private void processBatch(WorldBatch batch) {
+        for (WarmupData data : batch.check) {
+            if (isActive(data) && hasMoved(data)) {
+                config.getMessages().movedCancelled().send(data.playerData::sendMessage);
+                cancelWarmup(data.playerId);
+            }
+        }
 
-        if (data.checkFuture != null)
-            data.checkFuture.cancel(false);
-        teleportAction.run();
+        for (WarmupData data : batch.due) {
+            if (!isActive(data)) {
+                continue;
+            }
+            if (hasMoved(data)) {
+                config.getMessages().movedCancelled().send(data.playerData::sendMessage);
+                cancelWarmup(data.playerId);
+                continue;
+            }
+            if (activeWarmups.remove(data.playerId, data)) {
+                data.teleportAction.run();
+            }
+        }
     }
 
-    public void cancelWarmup(UUID playerId) {
-        WarmupData data = activeWarmups.remove(playerId);
-        if (data != null) {
-            if (data.checkFuture != null)
-                data.checkFuture.cancel(false);
-            if (data.teleportFuture != null)
-                data.teleportFuture.cancel(false);
+    private boolean hasMoved(WarmupData data) {
+        try {
+            TransformComponent transform = data.store.getComponent(data.playerRef,
+                    TransformComponent.getComponentType());
+            if (transform == null)
+                return false;
+
+            Vector3d currentPos = transform.getPosition();
+            double dx = currentPos.x - data.startX;
+            double dy = currentPos.y - data.startY;
+            double dz = currentPos.z - data.startZ;
+            return dx * dx + dy * dy + dz * dz > data.movementThresholdSq;
+        } catch (Exception ignored) {
+            return false;
         }
     }
 
+    private boolean isActive(WarmupData data) {
+        return activeWarmups.get(data.playerId) == data;
+    }
+
+    private static class WorldBatch {
+        final List<WarmupData> check = new ArrayList<>();
+        final List<WarmupData> due = new ArrayList<>();
+    }
+
     private static class WarmupData {
+        final UUID playerId;
         final PlayerRef playerData;
         final Ref<EntityStore> playerRef;
         final Store<EntityStore> store;
         final World world;
         final double startX, startY, startZ;
-        final double movementThreshold;
-        ScheduledFuture<?> checkFuture;
-        ScheduledFuture<?> teleportFuture;
-
-        WarmupData(PlayerRef playerData, Ref<EntityStore> playerRef, Store<EntityStore> store,
-                World world, double startX, double startY, double startZ, double movementThreshold) {
+        final double movementThresholdSq;
+        final Runnable teleportAction;
+        final Runnable cancelAction;
+        long deadlineTick;
+
+        WarmupData(UUID playerId, PlayerRef playerData, Ref<EntityStore> playerRef, Store<EntityStore> store,
+                World world, double startX, double startY, double startZ, double movementThresholdSq,
+                Runnable teleportAction, Runnable cancelAction) {
+            this.playerId = playerId;
             this.playerData = playerData;
             this.playerRef = playerRef;
             this.store = store;
@@ -139,7 +238,9 @@ public class WarmupManager {
             this.startX = startX;
             this.startY = startY;
             this.startZ = startZ;
-            this.movementThreshold = movementThreshold;
+            this.movementThresholdSq = movementThresholdSq;
+            this.teleportAction = teleportAction;
+            this.cancelAction = cancelAction;
         }
     }
 }
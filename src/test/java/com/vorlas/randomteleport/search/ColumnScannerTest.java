@@ -0,0 +1,113 @@
+package com.vorlas.randomteleport.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ColumnScannerTest {
+
+    private static final int SEA_LEVEL = 150;
+    private static final int MIN_HEIGHT = 0;
+    private static final int MAX_HEIGHT = 300;
+
+    private final ProceduralTerrain terrain = new ProceduralTerrain("test", 42L, 0, Runnable::run);
+
+    @Test
+    void findsSurfaceOfDryColumn() {
+        int[] column = findColumn(true);
+        ColumnScanner scanner = loadGrid(column[0] >> 4, column[1] >> 4);
+
+        int y = scanner.findSafeSurfaceY(column[0], column[1], MIN_HEIGHT, MAX_HEIGHT);
+
+        assertEquals(terrain.surface(column[0], column[1]), y);
+        assertTrue(scanner.isSafeSpot(column[0], y, column[1]));
+    }
+
+    @Test
+    void rejectsColumnUnderWater() {
+        int[] column = findColumn(false);
+        ColumnScanner scanner = loadGrid(column[0] >> 4, column[1] >> 4);
+
+        assertEquals(-1, scanner.findSafeSurfaceY(column[0], column[1], MIN_HEIGHT, MAX_HEIGHT));
+    }
+
+    @Test
+    void ignoresGroundOutsideHeightBand() {
+        int[] column = findColumn(true);
+        ColumnScanner scanner = loadGrid(column[0] >> 4, column[1] >> 4);
+        int surface = terrain.surface(column[0], column[1]);
+
+        assertEquals(-1, scanner.findSafeSurfaceY(column[0], column[1], surface + 1, MAX_HEIGHT));
+        assertEquals(-1, scanner.findSafeSurfaceY(column[0], column[1], MIN_HEIGHT, surface - 1));
+    }
+
+    @Test
+    void columnWithoutLoadedChunkIsNotSafe() {
+        int[] column = findColumn(true);
+        ColumnScanner scanner = new ColumnScanner(column[0] >> 4, column[1] >> 4);
+
+        assertEquals(-1, scanner.findSafeSurfaceY(column[0], column[1], MIN_HEIGHT, MAX_HEIGHT));
+    }
+
+    @Test
+    void nearbySearchFindsDryLandNextToWater() {
+        // A flooded column with a safe column a few blocks away in the same grid
+        for (int x = 0; x < 20_000; x += 7) {
+            if (!isSafe(x, 0) && isSafe(x + 3, 0)) {
+                ColumnScanner scanner = loadGrid(x >> 4, 0);
+                ColumnScanner.SafeColumn found = scanner.findSafeColumnNear(x, 0, MIN_HEIGHT, MAX_HEIGHT, 64);
+                assertNotNull(found);
+                assertTrue(Math.abs((found.x() >> 4) - (x >> 4)) <= 1 && Math.abs(found.z() >> 4) <= 1);
+                assertEquals(terrain.surface(found.x(), found.z()), found.groundY());
+                assertTrue(isSafe(found.x(), found.z()));
+                return;
+            }
+        }
+        fail("no shoreline found");
+    }
+
+    @Test
+    void nearbySearchStopsAtColumnLimit() {
+        int[] column = findColumn(false);
+        ColumnScanner scanner = loadGrid(column[0] >> 4, column[1] >> 4);
+
+        assertNull(scanner.findSafeColumnNear(column[0], column[1], MIN_HEIGHT, MAX_HEIGHT, 0));
+    }
+
+    private ColumnScanner loadGrid(int centerChunkX, int centerChunkZ) {
+        ColumnScanner scanner = new ColumnScanner(centerChunkX, centerChunkZ);
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                long index = LocationSearcher.chunkIndex(centerChunkX + dx, centerChunkZ + dz);
+                scanner.put(index, terrain.getChunkAsync(index).join());
+            }
+        }
+        return scanner;
+    }
+
+    /**
+     * A column is safe when its surface is above the water and no neighbour is
+     * lower, so the ground block has solid blocks on all four sides.
+     */
+    private boolean isSafe(int x, int z) {
+        int surface = terrain.surface(x, z);
+        return surface >= SEA_LEVEL
+                && terrain.surface(x + 1, z) >= surface
+                && terrain.surface(x - 1, z) >= surface
+                && terrain.surface(x, z + 1) >= surface
+                && terrain.surface(x, z - 1) >= surface;
+    }
+
+    private int[] findColumn(boolean safe) {
+        for (int x = 0; x < 20_000; x += 13) {
+            if (isSafe(x, 0) == safe && (safe || terrain.surface(x, 0) < SEA_LEVEL)) {
+                return new int[] { x, 0 };
+            }
+        }
+        throw new AssertionError("no " + (safe ? "safe" : "flooded") + " column found");
+    }
+}
@@ -0,0 +1,47 @@
+package com.vorlas.randomteleport.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneratedChunkIndexTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void indexSurvivesRestart() {
+        GeneratedChunkIndex index = new GeneratedChunkIndex(dataDir);
+        for (int i = 0; i < 100; i++) {
+            index.record("world", LocationSearcher.chunkIndex(i, -i));
+        }
+        index.save();
+
+        GeneratedChunkIndex restored = new GeneratedChunkIndex(dataDir);
+        restored.load();
+        assertEquals(100, restored.size("world"));
+        assertTrue(restored.contains("world", LocationSearcher.chunkIndex(42, -42)));
+    }
+
+    @Test
+    void saveWithoutLoadKeepsSavedChunks() {
+        GeneratedChunkIndex index = new GeneratedChunkIndex(dataDir);
+        index.record("world", LocationSearcher.chunkIndex(1, 1));
+        index.save();
+
+        // Started with the mode off, then turned on by reload
+        GeneratedChunkIndex reloaded = new GeneratedChunkIndex(dataDir);
+        reloaded.record("world", LocationSearcher.chunkIndex(2, 2));
+        reloaded.save();
+
+        GeneratedChunkIndex restored = new GeneratedChunkIndex(dataDir);
+        restored.load();
+        assertEquals(2, restored.size("world"));
+        assertTrue(restored.contains("world", LocationSearcher.chunkIndex(1, 1)));
+        assertTrue(restored.contains("world", LocationSearcher.chunkIndex(2, 2)));
+    }
+}
@@ -0,0 +1,287 @@
+package com.vorlas.randomteleport.search;
+
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import com.vorlas.randomteleport.metrics.RtpMetrics;
+import com.vorlas.randomteleport.utils.RtpScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class LocationSearcherTest {
+
+    private static final SearchBounds BOUNDS = new SearchBounds(2000, 4000, 120, 260);
+    // Above the highest surface ProceduralTerrain generates, so no spot is ever safe
+    private static final SearchBounds NO_GROUND = new SearchBounds(2000, 4000, 300, 310);
+
+    @TempDir
+    Path dataDir;
+
+    private RandomTeleportConfig config;
+    private RtpScheduler scheduler;
+    private final ProceduralTerrain terrain = new ProceduralTerrain("test", 42L, 0, Runnable::run);
+
+    @BeforeEach
+    void setUp() {
+        config = new RandomTeleportConfig(dataDir);
+        scheduler = new RtpScheduler();
+        // Keep load-based pacing and width scaling out of the counts below
+        configure("\"health\": {\n    \"enabled\": true", "\"health\": {\n    \"enabled\": false");
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void findsSafeSpotInsideBounds() throws Exception {
+        SafeLocation location = searcher(new UnsafeRegionCache(dataDir, 0))
+                .search(terrain, BOUNDS, attempt -> { })
+                .get(10, TimeUnit.SECONDS);
+
+        assertNotNull(location);
+        int x = (int) Math.floor(location.x());
+        int z = (int) Math.floor(location.z());
+        assertEquals(terrain.surface(x, z) + 1, (int) location.y());
+        assertTrue(location.y() - 1 >= BOUNDS.minHeight() && location.y() - 1 <= BOUNDS.maxHeight());
+        double distance = Math.sqrt(location.x() * location.x() + location.z() * location.z());
+        // The nearby-column fallback may move the spot a few blocks off the band
+        assertTrue(distance > BOUNDS.minDistance() - 32 && distance < BOUNDS.maxDistance() + 32);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() throws Exception {
+        configure("\"maxAttempts\": 10", "\"maxAttempts\": 4");
+        HeldTerrain held = new HeldTerrain(terrain, false);
+        CompletableFuture<SafeLocation> result = searcher(new UnsafeRegionCache(dataDir, 0))
+                .search(held, NO_GROUND, attempt -> { });
+
+        held.releaseAll();
+
+        assertNull(result.get(10, TimeUnit.SECONDS));
+        assertEquals(4 * 9, held.requests());
+    }
+
+    @Test
+    void searchWidthIsCappedByMaxAttempts() throws Exception {
+        configure("\"maxAttempts\": 10", "\"maxAttempts\": 2");
+        LocationSearcher searcher = searcher(new UnsafeRegionCache(dataDir, 0));
+        assertEquals(3, searcher.getSearchWidth());
+
+        HeldTerrain held = new HeldTerrain(terrain, false);
+        CompletableFuture<SafeLocation> result = searcher.search(held, NO_GROUND, attempt -> { });
+
+        // Two candidates of 9 chunks each, not three
+        assertEquals(2 * 9, held.requests());
+        held.releaseAll();
+        assertNull(result.get(10, TimeUnit.SECONDS));
+        assertEquals(2 * 9, held.requests());
+    }
+
+    @Test
+    void attemptListenerIsCalledOncePerWave() throws Exception {
+        configure("\"maxAttempts\": 10", "\"maxAttempts\": 6");
+        HeldTerrain held = new HeldTerrain(terrain, false);
+        List<Integer> waves = new ArrayList<>();
+        CompletableFuture<SafeLocation> result = searcher(new UnsafeRegionCache(dataDir, 0))
+                .search(held, NO_GROUND, waves::add);
+
+        held.releaseAll();
+
+        assertNull(result.get(10, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 4), waves);
+    }
+
+    @Test
+    void cancellingStopsFurtherCandidates() {
+        configure("\"parallelCandidates\": 3", "\"parallelCandidates\": 1");
+        HeldTerrain held = new HeldTerrain(terrain, false);
+        CompletableFuture<SafeLocation> result = searcher(new UnsafeRegionCache(dataDir, 0))
+                .search(held, NO_GROUND, attempt -> { });
+        assertEquals(9, held.requests());
+
+        result.cancel(false);
+        held.releaseAll();
+
+        // The failed candidate would have started the next one
+        assertTrue(result.isCancelled());
+        assertEquals(9, held.requests());
+    }
+
+    @Test
+    void missingChunksAreRequestedAgain() throws Exception {
+        configure("\"parallelCandidates\": 3", "\"parallelCandidates\": 1",
+                "\"maxAttempts\": 10", "\"maxAttempts\": 1");
+        HeldTerrain flaky = new HeldTerrain(terrain, true);
+        CompletableFuture<SafeLocation> result = searcher(new UnsafeRegionCache(dataDir, 0))
+                .search(flaky, NO_GROUND, attempt -> { });
+
+        // Each round comes back empty; the search retries the same grid
+        for (int round = 1; !result.isDone() && round <= 10; round++) {
+            waitForRequests(flaky, round * 9);
+            flaky.releaseAll();
+        }
+
+        assertNull(result.get(10, TimeUnit.SECONDS));
+        // The first request plus three retries, then the candidate fails
+        assertEquals(4 * 9, flaky.requests());
+    }
+
+    @Test
+    void searchFailsOnceSchedulerHasShutDown() throws Exception {
+        HeldTerrain held = new HeldTerrain(terrain, false);
+        CompletableFuture<SafeLocation> result = searcher(new UnsafeRegionCache(dataDir, 0))
+                .search(held, NO_GROUND, attempt -> { });
+
+        scheduler.shutdown();
+        held.releaseAll();
+
+        // Nothing could run the next candidate, so the search must not hang
+        assertTrue(result.isCompletedExceptionally());
+        try {
+            result.get(10, TimeUnit.SECONDS);
+            fail("search completed normally");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    @Test
+    void unsafeChunksAreRerolledAtMostEightTimes() {
+        AtomicInteger lookups = new AtomicInteger();
+        UnsafeRegionCache everythingUnsafe = new UnsafeRegionCache(dataDir, 30) {
+            @Override
+            public boolean isUnsafe(String world, int chunkX, int chunkZ, SearchBounds bounds) {
+                lookups.incrementAndGet();
+                return true;
+            }
+        };
+
+        double[] point = searcher(everythingUnsafe).nextCandidate("test", BOUNDS, new Random(1));
+
+        assertNotNull(point);
+        assertEquals(8, lookups.get());
+    }
+
+    @Test
+    void failedCandidateIsRememberedAsUnsafe() throws Exception {
+        configure("\"parallelCandidates\": 3", "\"parallelCandidates\": 1",
+                "\"maxAttempts\": 10", "\"maxAttempts\": 1");
+        UnsafeRegionCache unsafeRegions = new UnsafeRegionCache(dataDir, 30);
+        HeldTerrain held = new HeldTerrain(terrain, false);
+        CompletableFuture<SafeLocation> result = searcher(unsafeRegions).search(held, NO_GROUND, attempt -> { });
+        held.releaseAll();
+
+        assertNull(result.get(10, TimeUnit.SECONDS));
+        // The grid is requested column by column, so the 5th chunk is the centre
+        long center = held.request(4);
+        assertTrue(unsafeRegions.isUnsafe("test", (int) (center >> 32), (int) center, NO_GROUND));
+    }
+
+    private LocationSearcher searcher(UnsafeRegionCache unsafeRegions) {
+        return new LocationSearcher(config, new RtpMetrics(), unsafeRegions, new GeneratedChunkIndex(dataDir),
+                new WorldHealth(config), scheduler);
+    }
+
+    private void configure(String... replacements) {
+        try {
+            Path file = dataDir.resolve("config.json");
+            String json = Files.readString(file);
+            for (int i = 0; i < replacements.length; i += 2) {
+                assertTrue(json.contains(replacements[i]));
+                json = json.replace(replacements[i], replacements[i + 1]);
+            }
+            Files.writeString(file, json);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+        assertEquals(List.of(), config.reload());
+    }
+
+    private static void waitForRequests(HeldTerrain terrain, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (terrain.requests() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Procedural terrain whose chunk requests stay pending until released, so
+     * a test can count what a search asked for before anything completes.
+     * An empty terrain releases every request without data.
+     */
+    private static final class HeldTerrain implements TerrainAccess {
+        private final ProceduralTerrain terrain;
+        private final boolean empty;
+        private final List<Long> requested = new ArrayList<>();
+        private final List<CompletableFuture<ChunkView>> pending = new ArrayList<>();
+
+        HeldTerrain(ProceduralTerrain terrain, boolean empty) {
+            this.terrain = terrain;
+            this.empty = empty;
+        }
+
+        @Override
+        public String getName() {
+            return terrain.getName();
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            terrain.execute(task);
+        }
+
+        @Override
+        public synchronized CompletableFuture<ChunkView> getChunkAsync(long chunkIndex) {
+            CompletableFuture<ChunkView> future = new CompletableFuture<>();
+            requested.add(chunkIndex);
+            pending.add(future);
+            return future;
+        }
+
+        synchronized int requests() {
+            return requested.size();
+        }
+
+        synchronized long request(int i) {
+            return requested.get(i);
+        }
+
+        /**
+         * Complete every pending request, including those made while doing so.
+         */
+        void releaseAll() {
+            while (true) {
+                CompletableFuture<ChunkView> future;
+                long chunkIndex;
+                synchronized (this) {
+                    int next = requested.size() - pending.size();
+                    if (pending.isEmpty()) {
+                        return;
+                    }
+                    future = pending.remove(0);
+                    chunkIndex = requested.get(next);
+                }
+                future.complete(empty ? null : terrain.getChunkAsync(chunkIndex).join());
+            }
+        }
+    }
+}
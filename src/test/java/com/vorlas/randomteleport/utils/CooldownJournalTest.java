@@ -0,0 +1,130 @@
+package com.vorlas.randomteleport.utils;
+
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CooldownJournalTest {
+
+    @TempDir
+    Path dataDir;
+
+    private RandomTeleportConfig config;
+    private RtpScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        config = new RandomTeleportConfig(dataDir);
+        scheduler = new RtpScheduler();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void appendedCooldownsSurviveRestart() {
+        long now = System.currentTimeMillis();
+        UUID[] players = new UUID[100];
+        CooldownJournal journal = open(new CooldownStore(config));
+        for (int i = 0; i < players.length; i++) {
+            players[i] = UUID.randomUUID();
+            journal.append(players[i], now - i);
+        }
+        journal.shutdown();
+
+        CooldownStore restored = new CooldownStore(config);
+        open(restored).shutdown();
+
+        for (int i = 0; i < players.length; i++) {
+            assertEquals(now - i, restored.getLastUsed(players[i]));
+        }
+    }
+
+    @Test
+    void latestEntryWinsOnReplay() {
+        long now = System.currentTimeMillis();
+        UUID player = UUID.randomUUID();
+        CooldownJournal journal = open(new CooldownStore(config));
+        journal.append(player, now - 2000);
+        journal.append(player, now - 1000);
+        journal.shutdown();
+
+        CooldownStore restored = new CooldownStore(config);
+        open(restored).shutdown();
+
+        assertEquals(now - 1000, restored.getLastUsed(player));
+    }
+
+    @Test
+    void expiredEntriesAreDroppedOnLoad() {
+        long now = System.currentTimeMillis();
+        UUID expired = UUID.randomUUID();
+        CooldownJournal journal = open(new CooldownStore(config));
+        journal.append(expired, now - config.getMaxCooldownSeconds() * 1000L - 1000);
+        journal.shutdown();
+
+        CooldownStore restored = new CooldownStore(config);
+        open(restored).shutdown();
+
+        assertEquals(0, restored.getLastUsed(expired));
+        assertEquals(0, restored.size());
+    }
+
+    @Test
+    void tornRecordAtEndIsIgnored() throws Exception {
+        long now = System.currentTimeMillis();
+        UUID player = UUID.randomUUID();
+        CooldownJournal journal = open(new CooldownStore(config));
+        journal.append(player, now);
+        journal.shutdown();
+
+        // Half a record, as if the server died mid-append
+        Files.write(dataDir.resolve("cooldowns.dat"), new byte[12], StandardOpenOption.APPEND);
+
+        CooldownStore restored = new CooldownStore(config);
+        open(restored).shutdown();
+
+        assertEquals(now, restored.getLastUsed(player));
+        assertEquals(1, restored.size());
+    }
+
+    @Test
+    void appendsStillPersistWhenCompactionFails() throws Exception {
+        long now = System.currentTimeMillis();
+        UUID before = UUID.randomUUID();
+        UUID after = UUID.randomUUID();
+        CooldownJournal journal = open(new CooldownStore(config));
+        journal.append(before, now - 1000);
+        journal.shutdown();
+
+        // A directory in the way of the temp file makes compaction on load fail
+        Path tmp = Files.createDirectory(dataDir.resolve("cooldowns.dat.tmp"));
+        journal = open(new CooldownStore(config));
+        journal.append(after, now);
+        journal.shutdown();
+        Files.delete(tmp);
+
+        CooldownStore restored = new CooldownStore(config);
+        open(restored).shutdown();
+
+        assertEquals(now - 1000, restored.getLastUsed(before));
+        assertEquals(now, restored.getLastUsed(after));
+    }
+
+    private CooldownJournal open(CooldownStore store) {
+        CooldownJournal journal = new CooldownJournal(dataDir, store, scheduler);
+        journal.load();
+        return journal;
+    }
+}
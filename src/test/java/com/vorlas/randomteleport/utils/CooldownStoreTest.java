@@ -0,0 +1,90 @@
+package com.vorlas.randomteleport.utils;
+
+import com.vorlas.randomteleport.config.RandomTeleportConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CooldownStoreTest {
+
+    private static final long HOUR_MS = 3_600_000L;
+
+    @TempDir
+    Path dataDir;
+
+    private RandomTeleportConfig config;
+    private CooldownStore store;
+
+    @BeforeEach
+    void setUp() {
+        config = new RandomTeleportConfig(dataDir);
+        store = new CooldownStore(config);
+    }
+
+    @Test
+    void unknownPlayerHasNoCooldown() {
+        UUID player = UUID.randomUUID();
+
+        assertEquals(0, store.getLastUsed(player));
+        assertEquals(0, store.getRemainingMs(player, HOUR_MS, System.currentTimeMillis()));
+    }
+
+    @Test
+    void remainingTimeCountsDown() {
+        UUID player = UUID.randomUUID();
+        long now = System.currentTimeMillis();
+        store.put(player, now);
+
+        assertEquals(HOUR_MS, store.getRemainingMs(player, HOUR_MS, now));
+        assertEquals(HOUR_MS - 1000, store.getRemainingMs(player, HOUR_MS, now + 1000));
+        assertEquals(0, store.getRemainingMs(player, HOUR_MS, now + HOUR_MS));
+    }
+
+    @Test
+    void laterPutReplacesEarlier() {
+        UUID player = UUID.randomUUID();
+        long now = System.currentTimeMillis();
+        store.put(player, now - 5000);
+        store.put(player, now);
+
+        assertEquals(now, store.getLastUsed(player));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void keepsEveryPlayerWhileGrowing() {
+        long now = System.currentTimeMillis();
+        UUID[] players = new UUID[5000];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = UUID.randomUUID();
+            store.put(players[i], now - i);
+        }
+
+        assertEquals(players.length, store.size());
+        for (int i = 0; i < players.length; i++) {
+            assertEquals(now - i, store.getLastUsed(players[i]));
+        }
+    }
+
+    @Test
+    void snapshotRestoresIntoNewStore() {
+        long now = System.currentTimeMillis();
+        UUID active = UUID.randomUUID();
+        UUID expired = UUID.randomUUID();
+        long maxCooldownMs = config.getMaxCooldownSeconds() * 1000L;
+        store.put(active, now - 1000);
+        store.put(expired, now - maxCooldownMs - 1000);
+
+        long[] entries = store.snapshot(now);
+        CooldownStore restored = new CooldownStore(config);
+        restored.restoreAll(entries, entries.length / 3, now);
+
+        assertEquals(now - 1000, restored.getLastUsed(active));
+        assertEquals(0, restored.getLastUsed(expired));
+    }
+}